@@ -0,0 +1,405 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded sorted set for use as the ordered index of a cache: a sorted
+ * set that never holds more than {@code capacity} elements. When an
+ * {@code add} would exceed the capacity, one element is evicted according to
+ * the chosen {@link Policy} and passed to the eviction callback. Every
+ * eviction is a single removal from the tree, without a scan.
+ *
+ * <p>
+ * The index is a {@code Set3b} splay tree rather than a {@code Set3a}, so
+ * every operation, eviction included, runs in amortized O(log n) time even
+ * when keys arrive in increasing order, as timestamps and sequence numbers
+ * do. An unbalanced {@code Set3a} would degrade to O(n) on such keys.
+ * </p>
+ *
+ * <p>
+ * {@code LRU} and {@code TTL} keep a {@code LinkedHashMap} next to the tree,
+ * in access or insertion order respectively, so the element to evict is
+ * always at its head. These two policies therefore require {@code equals}
+ * and {@code hashCode} of {@code T} to be consistent with {@code compareTo}.
+ * </p>
+ *
+ * <p>
+ * Hit, miss, and eviction counters are kept for tuning the capacity. Like
+ * {@code Set3b}, whose lookups restructure the tree, this class is meant to
+ * be used from a single thread.
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code Set} elements
+ * @convention <pre>
+ * |$this.index| <= $this.capacity  and
+ * ($this.order /= null  implies  keys($this.order) = $this.index)
+ * </pre>
+ * @correspondence this = $this.index
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public final class BoundedSet3a<T extends Comparable<T>>
+        implements Iterable<T> {
+
+    /**
+     * Which element to evict when the set is over capacity.
+     */
+    public enum Policy {
+        /**
+         * Evict the smallest element.
+         */
+        SMALLEST,
+        /**
+         * Evict the largest element.
+         */
+        LARGEST,
+        /**
+         * Evict the least recently added or found element.
+         */
+        LRU,
+        /**
+         * Evict the earliest added element; also evict any element once it has
+         * been in the set longer than the time-to-live.
+         */
+        TTL
+    }
+
+    /*
+     * Private members --------------------------------------------------------
+     */
+
+    /**
+     * The elements, in sorted order.
+     */
+    private final Set3b<T> index;
+
+    /**
+     * Maximum number of elements.
+     */
+    private final int capacity;
+
+    /**
+     * Eviction policy.
+     */
+    private final Policy policy;
+
+    /**
+     * Time-to-live, in clock ticks, for the {@code TTL} policy.
+     */
+    private final long ttl;
+
+    /**
+     * Source of the current time, in nanoseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Called with every evicted element.
+     */
+    private final Consumer<T> onEvict;
+
+    /**
+     * For {@code LRU} and {@code TTL}, the elements in eviction order, mapped
+     * to their insertion times; {@code null} for the other policies.
+     */
+    private final LinkedHashMap<T, Long> order;
+
+    /**
+     * Number of {@code contains} calls that found their element.
+     */
+    private long hits;
+
+    /**
+     * Number of {@code contains} calls that did not find their element.
+     */
+    private long misses;
+
+    /**
+     * Number of elements evicted.
+     */
+    private long evictions;
+
+    /**
+     * Finishes evicting {@code x}, which has just been removed from the index:
+     * drops it from the order map, counts it, and passes it to the eviction
+     * callback. Every eviction goes through here.
+     *
+     * @param x
+     *            the element evicted
+     * @updates this
+     * @requires x is not in $this.index
+     * @ensures this = #this  and  x is not in keys($this.order)
+     */
+    private void evict(T x) {
+        if (this.order != null) {
+            this.order.remove(x);
+        }
+        this.evictions++;
+        this.onEvict.accept(x);
+    }
+
+    /**
+     * Evicts the element chosen by the policy.
+     *
+     * @updates this
+     * @requires this /= empty_set
+     */
+    private void evictOne() {
+        T victim;
+        switch (this.policy) {
+            case SMALLEST:
+                victim = this.index.removeAny();
+                break;
+            case LARGEST:
+                victim = this.index.removeLargest();
+                break;
+            default:
+                /*
+                 * LRU and TTL: the head of the map.
+                 */
+                victim = this.index
+                        .remove(this.order.keySet().iterator().next());
+                break;
+        }
+        this.evict(victim);
+    }
+
+    /**
+     * Under the {@code TTL} policy, evicts every element that has been in the
+     * set for at least the time-to-live. Each expired element is found at the
+     * head of the insertion-ordered map, so this costs amortized O(log n) per
+     * expired element and O(1) otherwise.
+     *
+     * @updates this
+     */
+    private void expire() {
+        if (this.policy == Policy.TTL) {
+            long now = this.clock.getAsLong();
+            boolean done = false;
+            while (!done && !this.order.isEmpty()) {
+                Map.Entry<T, Long> oldest = this.order.entrySet().iterator()
+                        .next();
+                if (now - oldest.getValue() >= this.ttl) {
+                    this.evict(this.index.remove(oldest.getKey()));
+                } else {
+                    done = true;
+                }
+            }
+        }
+    }
+
+    /*
+     * Constructors -----------------------------------------------------------
+     */
+
+    /**
+     * Constructor for the {@code SMALLEST}, {@code LARGEST}, and {@code LRU}
+     * policies.
+     *
+     * @param capacity
+     *            maximum number of elements
+     * @param policy
+     *            eviction policy
+     * @param onEvict
+     *            called with every evicted element
+     * @requires capacity > 0 and policy /= TTL
+     */
+    public BoundedSet3a(int capacity, Policy policy, Consumer<T> onEvict) {
+        this(capacity, policy, Long.MAX_VALUE, System::nanoTime, onEvict);
+        assert policy != Policy.TTL : "Violation of: policy /= TTL";
+    }
+
+    /**
+     * Constructor with every option.
+     *
+     * @param capacity
+     *            maximum number of elements
+     * @param policy
+     *            eviction policy
+     * @param ttl
+     *            time-to-live in clock ticks, used by the {@code TTL} policy
+     * @param clock
+     *            source of the current time, in nanoseconds for
+     *            {@code System::nanoTime}
+     * @param onEvict
+     *            called with every evicted element
+     * @requires capacity > 0 and ttl > 0
+     */
+    public BoundedSet3a(int capacity, Policy policy, long ttl,
+            LongSupplier clock, Consumer<T> onEvict) {
+        assert capacity > 0 : "Violation of: capacity > 0";
+        assert policy != null : "Violation of: policy is not null";
+        assert ttl > 0 : "Violation of: ttl > 0";
+        assert clock != null : "Violation of: clock is not null";
+        assert onEvict != null : "Violation of: onEvict is not null";
+
+        this.index = new Set3b<T>();
+        this.capacity = capacity;
+        this.policy = policy;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.onEvict = onEvict;
+        if (policy == Policy.LRU || policy == Policy.TTL) {
+            this.order = new LinkedHashMap<T, Long>(16, 0.75f,
+                    policy == Policy.LRU);
+        } else {
+            this.order = null;
+        }
+    }
+
+    /*
+     * Public methods ---------------------------------------------------------
+     */
+
+    /**
+     * Adds {@code x} to {@code this}, then evicts one element if {@code this}
+     * is over capacity; the evicted element may be {@code x} itself (e.g.,
+     * when {@code x} is the smallest under {@code SMALLEST}).
+     *
+     * @param x
+     *            the element to be added
+     * @aliases reference {@code x}
+     * @updates this
+     * @requires x is not in this
+     * @ensures <pre>
+     * this is subset of #this union {x}  and  |this| <= capacity
+     * </pre>
+     */
+    public void add(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        this.expire();
+        assert !this.index.contains(x) : "Violation of: x is not in this";
+
+        this.index.add(x);
+        if (this.order != null) {
+            this.order.put(x, this.clock.getAsLong());
+        }
+        if (this.index.size() > this.capacity) {
+            this.evictOne();
+        }
+    }
+
+    /**
+     * Removes {@code x} from {@code this} and returns it; this is not counted
+     * as an eviction.
+     *
+     * @param x
+     *            the element to be removed
+     * @return the element removed
+     * @updates this
+     * @requires x is in this
+     * @ensures this = #this \ {x} and remove = x
+     */
+    public T remove(T x) {
+        assert x != null : "Violation of: x is not null";
+        assert this.index.contains(x) : "Violation of: x is in this";
+
+        T removed = this.index.remove(x);
+        if (this.order != null) {
+            this.order.remove(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Reports whether {@code x} is in {@code this}, counting a hit or a miss.
+     * Under {@code LRU}, a hit makes {@code x} the most recently used element.
+     *
+     * @param x
+     *            the element to be checked
+     * @return true iff x is in this
+     * @updates this
+     * @ensures contains = (x is in this)
+     */
+    public boolean contains(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        this.expire();
+        boolean found = this.index.contains(x);
+        if (found) {
+            this.hits++;
+            if (this.policy == Policy.LRU) {
+                this.order.get(x);
+            }
+        } else {
+            this.misses++;
+        }
+        return found;
+    }
+
+    /**
+     * Reports size (cardinality) of {@code this}.
+     *
+     * @return the number of elements in this
+     * @updates this
+     * @ensures size = |this|
+     */
+    public int size() {
+        this.expire();
+        return this.index.size();
+    }
+
+    /**
+     * Returns an iterator over the elements of {@code this} in increasing
+     * order. Iterating does not count as use under {@code LRU}.
+     *
+     * @return the iterator
+     */
+    @Override
+    public Iterator<T> iterator() {
+        this.expire();
+        return this.index.iterator();
+    }
+
+    /**
+     * Reports the maximum number of elements.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Reports the number of {@code contains} calls that found their element.
+     *
+     * @return the hit count
+     */
+    public long hits() {
+        return this.hits;
+    }
+
+    /**
+     * Reports the number of {@code contains} calls that did not find their
+     * element.
+     *
+     * @return the miss count
+     */
+    public long misses() {
+        return this.misses;
+    }
+
+    /**
+     * Reports the number of elements evicted, for capacity or by expiry.
+     *
+     * @return the eviction count
+     */
+    public long evictions() {
+        return this.evictions;
+    }
+
+    /**
+     * Resets the hit, miss, and eviction counters to zero.
+     */
+    public void resetCounters() {
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+    }
+
+}
@@ -0,0 +1,114 @@
+import java.util.Arrays;
+
+/**
+ * Immutable set of {@code int} keys stored in a primitive array in Eytzinger
+ * (breadth-first) order; the {@code int} counterpart of {@code FrozenSet},
+ * without boxing or {@code compareTo} calls.
+ *
+ * @convention <pre>
+ * |$this.layout| = $this.size + 1  and
+ * [$this.layout[1, $this.size] read in the in-order of the implicit tree
+ *  with children 2k and 2k+1 of node k is strictly increasing]
+ * </pre>
+ * @correspondence this = entries($this.layout[1, $this.size])
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public final class FrozenIntSet {
+
+    /**
+     * Keys in Eytzinger order, starting at index 1; index 0 is unused.
+     */
+    private final int[] layout;
+
+    /**
+     * Number of keys.
+     */
+    private final int size;
+
+    /**
+     * Places the next keys of {@code sorted} at node {@code k} and its
+     * descendants, in order, and returns the index of the next unused key.
+     *
+     * @param layout
+     *            the Eytzinger array being filled
+     * @param n
+     *            number of keys
+     * @param k
+     *            the node to fill
+     * @param sorted
+     *            the keys, in increasing order
+     * @param next
+     *            index of the next unused key of {@code sorted}
+     * @return index of the next unused key after filling node {@code k}
+     */
+    private static int fill(int[] layout, int n, int k, int[] sorted,
+            int next) {
+        int i = next;
+        if (k <= n) {
+            i = fill(layout, n, 2 * k, sorted, i);
+            layout[k] = sorted[i];
+            i++;
+            i = fill(layout, n, 2 * k + 1, sorted, i);
+        }
+        return i;
+    }
+
+    /**
+     * Constructor from any keys; duplicates are dropped.
+     *
+     * @param keys
+     *            the keys
+     */
+    public FrozenIntSet(int[] keys) {
+        assert keys != null : "Violation of: keys is not null";
+
+        int[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (n == 0 || sorted[i] != sorted[n - 1]) {
+                sorted[n] = sorted[i];
+                n++;
+            }
+        }
+        this.size = n;
+        this.layout = new int[n + 1];
+        fill(this.layout, n, 1, sorted, 0);
+    }
+
+    /**
+     * Reports whether {@code x} is in {@code this}.
+     *
+     * @param x
+     *            the key to be checked
+     * @return true iff x is in this
+     * @ensures contains = (x is in this)
+     */
+    public boolean contains(int x) {
+        int[] a = this.layout;
+        int n = this.size;
+        int k = 1;
+        while (k <= n) {
+            /*
+             * The sign of the (non-overflowing) long difference is 1 exactly
+             * when a[k] < x, so no branch is needed.
+             */
+            k = 2 * k + (int) (((long) a[k] - x) >>> 63);
+        }
+        k >>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k != 0 && a[k] == x;
+    }
+
+    /**
+     * Reports size (cardinality) of {@code this}.
+     *
+     * @return the number of keys in this
+     * @ensures size = |this|
+     */
+    public int size() {
+        return this.size;
+    }
+
+}
@@ -0,0 +1,230 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import components.set.Set;
+import components.set.SetSecondary;
+
+/**
+ * Immutable {@code Set} represented as an array of elements in Eytzinger
+ * (breadth-first) order, i.e., a complete binary search tree stored the way a
+ * binary heap is. The top levels of the implicit tree share a few cache lines,
+ * and each search step reads an index computed without a branch, so lookups
+ * avoid most of the pointer chasing of a linked tree. Instances are made by
+ * {@link Set3a#freeze()}; the mutators {@code add}, {@code remove},
+ * {@code removeAny}, {@code clear}, and {@code transferFrom} throw
+ * {@code UnsupportedOperationException}.
+ *
+ * @param <T>
+ *            type of {@code Set} elements
+ * @convention <pre>
+ * |$this.layout| = $this.size + 1  and
+ * [$this.layout[1, $this.size] read in the in-order of the implicit tree
+ *  with children 2k and 2k+1 of node k is strictly increasing]
+ * </pre>
+ * @correspondence this = entries($this.layout[1, $this.size])
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public class FrozenSet<T extends Comparable<T>> extends SetSecondary<T> {
+
+    /*
+     * Private members --------------------------------------------------------
+     */
+
+    /**
+     * Elements in Eytzinger order, starting at index 1; index 0 is unused.
+     */
+    private final Object[] layout;
+
+    /**
+     * Number of elements.
+     */
+    private final int size;
+
+    /**
+     * Places the next elements of {@code sorted} at node {@code k} and its
+     * descendants, in order, and returns the index of the next unused element.
+     *
+     * @param layout
+     *            the Eytzinger array being filled
+     * @param n
+     *            number of elements
+     * @param k
+     *            the node to fill
+     * @param sorted
+     *            the elements, in increasing order
+     * @param next
+     *            index of the next unused element of {@code sorted}
+     * @return index of the next unused element after filling node {@code k}
+     */
+    private static int fill(Object[] layout, int n, int k, Object[] sorted,
+            int next) {
+        int i = next;
+        if (k <= n) {
+            i = fill(layout, n, 2 * k, sorted, i);
+            layout[k] = sorted[i];
+            i++;
+            i = fill(layout, n, 2 * k + 1, sorted, i);
+        }
+        return i;
+    }
+
+    /**
+     * Returns the node that follows node {@code k} in in-order, or 0 if there
+     * is none; with {@code k = 0}, returns the first node.
+     *
+     * @param n
+     *            number of nodes
+     * @param k
+     *            the current node, or 0
+     * @return the next node, or 0
+     */
+    private static int successor(int n, int k) {
+        int next;
+        if (k == 0 || 2 * k + 1 <= n) {
+            /*
+             * Leftmost node of the right subtree (or of the whole tree).
+             */
+            next = (k == 0) ? 1 : 2 * k + 1;
+            if (next <= n) {
+                while (2 * next <= n) {
+                    next = 2 * next;
+                }
+            } else {
+                next = 0;
+            }
+        } else {
+            /*
+             * Climb while k is a right child, then once more.
+             */
+            next = k >> (Integer.numberOfTrailingZeros(~k) + 1);
+        }
+        return next;
+    }
+
+    /*
+     * Constructors -----------------------------------------------------------
+     */
+
+    /**
+     * No-argument constructor; makes an empty set.
+     */
+    public FrozenSet() {
+        this(new Object[0]);
+    }
+
+    /**
+     * Constructor from the elements in increasing order.
+     *
+     * @param sorted
+     *            the elements
+     * @requires [sorted is strictly increasing]
+     */
+    FrozenSet(Object[] sorted) {
+        this.size = sorted.length;
+        this.layout = new Object[this.size + 1];
+        fill(this.layout, this.size, 1, sorted, 0);
+    }
+
+    /*
+     * Standard methods -------------------------------------------------------
+     */
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final Set<T> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        throw new UnsupportedOperationException("FrozenSet is immutable");
+    }
+
+    @Override
+    public final void transferFrom(Set<T> source) {
+        throw new UnsupportedOperationException("FrozenSet is immutable");
+    }
+
+    /*
+     * Kernel methods ---------------------------------------------------------
+     */
+
+    @Override
+    public final void add(T x) {
+        throw new UnsupportedOperationException("FrozenSet is immutable");
+    }
+
+    @Override
+    public final T remove(T x) {
+        throw new UnsupportedOperationException("FrozenSet is immutable");
+    }
+
+    @Override
+    public final T removeAny() {
+        throw new UnsupportedOperationException("FrozenSet is immutable");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final boolean contains(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        /*
+         * Descend the implicit tree without branching on the comparison: go to
+         * child 2k + 1 when layout[k] < x and to 2k otherwise.
+         */
+        Object[] a = this.layout;
+        int n = this.size;
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (((T) a[k]).compareTo(x) >>> 31);
+        }
+        /*
+         * Undo the trailing right turns (and the final left turn) to find the
+         * last node where the search went left: the smallest element >= x.
+         */
+        k >>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k != 0 && ((T) a[k]).compareTo(x) == 0;
+    }
+
+    @Override
+    public final int size() {
+        return this.size;
+    }
+
+    @Override
+    public final Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            /**
+             * The next node to return, or 0 when done.
+             */
+            private int next = successor(FrozenSet.this.size, 0);
+
+            @Override
+            public boolean hasNext() {
+                return this.next != 0;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (this.next == 0) {
+                    throw new NoSuchElementException();
+                }
+                T result = (T) FrozenSet.this.layout[this.next];
+                this.next = successor(FrozenSet.this.size, this.next);
+                return result;
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,847 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Durable wrapper around a {@code Set3a}: every {@code add}, {@code remove},
+ * and {@code removeAny} is appended to a journal file before it is applied, and
+ * the sorted contents are periodically written to a checkpoint file by a
+ * background thread. {@link #open} rebuilds the set from the latest checkpoint
+ * plus the journal written after it.
+ *
+ * <p>
+ * Journal records are forced to disk in groups: after every
+ * {@code groupCommitSize} mutations, or when {@link #sync} or {@link #close}
+ * is called. There is no time limit on a group: if fewer than
+ * {@code groupCommitSize} mutations follow, the last ones stay unforced until
+ * the caller calls {@code sync} or {@code close}, so a mutation is durable only
+ * once one of those has returned. A crash can lose at most the mutations since
+ * the last force; a record that was only partly written is detected by its
+ * length and CRC and dropped on recovery.
+ * </p>
+ *
+ * <p>
+ * A mutation that throws {@code IOException} has not been applied. If its
+ * record could not be cut back off the journal, or the journal could not be
+ * forced, later mutations and {@code sync} fail rather than append after a
+ * record that recovery would stop at.
+ * </p>
+ *
+ * <p>
+ * Files in the directory: {@code journal-<g>.log} holds the mutations made
+ * after checkpoint {@code g}, and {@code checkpoint-<g>.dat} holds the
+ * elements as of the start of journal {@code g}. A new checkpoint switches to
+ * a new journal right away, so the writer never waits for the checkpoint to
+ * be written. The directory itself is forced after each new journal and
+ * each checkpoint rename, and older files are deleted only once the renamed
+ * checkpoint is durable.
+ * </p>
+ *
+ * <p>
+ * Like {@code Set3a}, this class is meant to be used from a single thread.
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code Set} elements
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public final class JournaledSet3a<T extends Comparable<T>>
+        implements Iterable<T>, AutoCloseable {
+
+    /*
+     * Private members --------------------------------------------------------
+     */
+
+    /**
+     * Journal record type for {@code add}.
+     */
+    private static final byte OP_ADD = 1;
+
+    /**
+     * Journal record type for {@code remove} and {@code removeAny}.
+     */
+    private static final byte OP_REMOVE = 2;
+
+    /**
+     * Bytes in a journal record header: payload length and CRC.
+     */
+    private static final int HEADER_BYTES = 8;
+
+    /**
+     * Default number of mutations per forced group.
+     */
+    private static final int DEFAULT_GROUP_COMMIT_SIZE = 64;
+
+    /**
+     * Default number of mutations between automatic checkpoints.
+     */
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 100000;
+
+    /**
+     * File name prefix of journal files.
+     */
+    private static final String JOURNAL_PREFIX = "journal-";
+
+    /**
+     * File name suffix of journal files.
+     */
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    /**
+     * File name prefix of checkpoint files.
+     */
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+
+    /**
+     * File name suffix of finished checkpoint files.
+     */
+    private static final String CHECKPOINT_SUFFIX = ".dat";
+
+    /**
+     * File name suffix of checkpoint files still being written.
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * The in-memory set.
+     */
+    private final Set3a<T> set;
+
+    /**
+     * Directory holding the journal and checkpoint files.
+     */
+    private final Path dir;
+
+    /**
+     * Converts elements to their stored form.
+     */
+    private final Function<T, String> encoder;
+
+    /**
+     * Converts stored forms back to elements.
+     */
+    private final Function<String, T> decoder;
+
+    /**
+     * Number of mutations per forced group.
+     */
+    private final int groupCommitSize;
+
+    /**
+     * Number of mutations between automatic checkpoints.
+     */
+    private final int checkpointInterval;
+
+    /**
+     * Writes checkpoints in the background.
+     */
+    private final ExecutorService checkpointer;
+
+    /**
+     * Generation of the current journal.
+     */
+    private long generation;
+
+    /**
+     * Channel of the current journal, positioned at its end.
+     */
+    private FileChannel journal;
+
+    /**
+     * Mutations written since the journal was last forced.
+     */
+    private int unforced;
+
+    /**
+     * The journal failure that makes the journal untrustworthy, or null.
+     */
+    private IOException failure;
+
+    /**
+     * Mutations written since the last checkpoint was started.
+     */
+    private int sinceCheckpoint;
+
+    /**
+     * The checkpoint being written, or {@code null} if none was started.
+     */
+    private Future<Void> pendingCheckpoint;
+
+    /**
+     * Returns the path of journal {@code g} in {@code dir}.
+     *
+     * @param dir
+     *            the directory
+     * @param g
+     *            the generation
+     * @return the journal path
+     */
+    private static Path journalPath(Path dir, long g) {
+        return dir.resolve(JOURNAL_PREFIX + g + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Returns the path of checkpoint {@code g} in {@code dir}.
+     *
+     * @param dir
+     *            the directory
+     * @param g
+     *            the generation
+     * @return the checkpoint path
+     */
+    private static Path checkpointPath(Path dir, long g) {
+        return dir.resolve(CHECKPOINT_PREFIX + g + CHECKPOINT_SUFFIX);
+    }
+
+    /**
+     * Returns the generation encoded in {@code name} if it has the given
+     * prefix and suffix, and -1 otherwise.
+     *
+     * @param name
+     *            the file name
+     * @param prefix
+     *            the expected prefix
+     * @param suffix
+     *            the expected suffix
+     * @return the generation, or -1
+     */
+    private static long generationOf(String name, String prefix,
+            String suffix) {
+        long g = -1;
+        if (name.startsWith(prefix) && name.endsWith(suffix)) {
+            try {
+                g = Long.parseLong(name.substring(prefix.length(),
+                        name.length() - suffix.length()));
+            } catch (NumberFormatException e) {
+                g = -1;
+            }
+        }
+        return g;
+    }
+
+    /**
+     * Returns the CRC32 of {@code bytes}, as an {@code int}.
+     *
+     * @param bytes
+     *            the bytes
+     * @return the checksum
+     */
+    private static int crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Forces the entries of {@code dir} to disk, so that files created, moved,
+     * or deleted in it survive a crash.
+     *
+     * @param dir
+     *            the directory
+     * @throws IOException
+     *             if the directory cannot be forced
+     */
+    private static void forceDirectory(Path dir) throws IOException {
+        try (FileChannel channel = FileChannel.open(dir,
+                StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Constructor; use {@link #open} to create instances.
+     *
+     * @param dir
+     *            directory holding the journal and checkpoint files
+     * @param encoder
+     *            converts elements to their stored form
+     * @param decoder
+     *            converts stored forms back to elements
+     * @param groupCommitSize
+     *            number of mutations per forced group
+     * @param checkpointInterval
+     *            number of mutations between automatic checkpoints
+     */
+    private JournaledSet3a(Path dir, Function<T, String> encoder,
+            Function<String, T> decoder, int groupCommitSize,
+            int checkpointInterval) {
+        this.set = new Set3a<T>();
+        this.dir = dir;
+        this.encoder = encoder;
+        this.decoder = decoder;
+        this.groupCommitSize = groupCommitSize;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "JournaledSet3a checkpointer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Loads checkpoint {@code g} into the (empty) set.
+     *
+     * @param g
+     *            the generation of the checkpoint
+     * @throws IOException
+     *             if the checkpoint cannot be read
+     */
+    private void loadCheckpoint(long g) throws IOException {
+        List<T> sorted = new ArrayList<T>();
+        try (InputStream in = Files.newInputStream(checkpointPath(this.dir, g));
+                DataInputStream data = new DataInputStream(
+                        new BufferedInputStream(in))) {
+            int count = data.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[data.readInt()];
+                data.readFully(bytes);
+                sorted.add(this.decoder
+                        .apply(new String(bytes, StandardCharsets.UTF_8)));
+            }
+        }
+        /*
+         * The checkpoint is in increasing order; adding it as-is would build a
+         * degenerate tree.
+         */
+        Set3a.addBalanced(this.set, sorted, 0, sorted.size());
+    }
+
+    /**
+     * Applies every complete record of journal {@code g} to the set, and cuts
+     * off a partly written record at its end, if any.
+     *
+     * @param g
+     *            the generation of the journal
+     * @throws IOException
+     *             if the journal cannot be read
+     */
+    private void replayJournal(long g) throws IOException {
+        try (FileChannel channel = FileChannel.open(journalPath(this.dir, g),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            ByteBuffer all = ByteBuffer.allocate((int) fileSize);
+            while (all.hasRemaining() && channel.read(all) >= 0) {
+                continue;
+            }
+            all.flip();
+
+            long valid = 0;
+            boolean torn = false;
+            while (!torn && all.remaining() >= HEADER_BYTES) {
+                int length = all.getInt();
+                int checksum = all.getInt();
+                if (length <= 0 || length > all.remaining()) {
+                    torn = true;
+                } else {
+                    byte[] payload = new byte[length];
+                    all.get(payload);
+                    if (crc(payload) != checksum) {
+                        torn = true;
+                    } else {
+                        this.apply(payload);
+                        valid = all.position();
+                    }
+                }
+            }
+            if (valid < fileSize) {
+                channel.truncate(valid);
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Applies one journal record payload to the set. Replay is idempotent:
+     * adding a present element or removing an absent one is skipped.
+     *
+     * @param payload
+     *            the record payload
+     */
+    private void apply(byte[] payload) {
+        T x = this.decoder.apply(new String(payload, 1, payload.length - 1,
+                StandardCharsets.UTF_8));
+        if (payload[0] == OP_ADD) {
+            if (!this.set.contains(x)) {
+                this.set.add(x);
+            }
+        } else {
+            assert payload[0] == OP_REMOVE : "Violation of: valid record type";
+            if (this.set.contains(x)) {
+                this.set.remove(x);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the set from the files in the directory and opens the journal
+     * for appending.
+     *
+     * @throws IOException
+     *             if the files cannot be read
+     */
+    private void recover() throws IOException {
+        long latestCheckpoint = -1;
+        List<Long> journals = new ArrayList<Long>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.dir)) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    /*
+                     * A checkpoint that was never finished.
+                     */
+                    Files.delete(p);
+                }
+                latestCheckpoint = Math.max(latestCheckpoint, generationOf(name,
+                        CHECKPOINT_PREFIX, CHECKPOINT_SUFFIX));
+                long g = generationOf(name, JOURNAL_PREFIX, JOURNAL_SUFFIX);
+                if (g >= 0) {
+                    journals.add(g);
+                }
+            }
+        }
+        Collections.sort(journals);
+
+        this.generation = Math.max(latestCheckpoint, 0);
+        if (latestCheckpoint >= 0) {
+            this.loadCheckpoint(latestCheckpoint);
+        }
+        for (long g : journals) {
+            if (g >= this.generation) {
+                this.replayJournal(g);
+                this.generation = g;
+            }
+        }
+        this.journal = FileChannel.open(journalPath(this.dir, this.generation),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        forceDirectory(this.dir);
+    }
+
+    /**
+     * Throws the journal failure, if there has been one.
+     *
+     * @throws IOException
+     *             if the journal has failed
+     */
+    private void checkHealthy() throws IOException {
+        if (this.failure != null) {
+            throw new IOException("Journal failed earlier", this.failure);
+        }
+    }
+
+    /**
+     * Forces the journal to disk. If the force fails, the journal is marked
+     * failed, since the records it held may or may not have reached the disk.
+     *
+     * @throws IOException
+     *             if the journal cannot be forced
+     */
+    private void force() throws IOException {
+        try {
+            this.journal.force(false);
+        } catch (IOException e) {
+            this.failure = e;
+            throw e;
+        }
+        this.unforced = 0;
+    }
+
+    /**
+     * Appends a record for {@code x} to the journal, and forces the group if
+     * it is full. If this fails, the record is cut back off the journal; if
+     * that fails too, or the force failed, the journal is marked failed.
+     *
+     * @param op
+     *            the record type
+     * @param x
+     *            the element
+     * @throws IOException
+     *             if the record cannot be written
+     */
+    private void log(byte op, T x) throws IOException {
+        this.checkHealthy();
+
+        byte[] key = this.encoder.apply(x).getBytes(StandardCharsets.UTF_8);
+        byte[] payload = new byte[key.length + 1];
+        payload[0] = op;
+        System.arraycopy(key, 0, payload, 1, key.length);
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        record.putInt(payload.length).putInt(crc(payload)).put(payload);
+        record.flip();
+        long end = this.journal.size();
+        try {
+            while (record.hasRemaining()) {
+                this.journal.write(record);
+            }
+            this.unforced++;
+            if (this.unforced >= this.groupCommitSize) {
+                this.sync();
+            }
+        } catch (IOException e) {
+            /*
+             * The caller will not apply the mutation, so its record must not
+             * survive, and nothing may be appended after a torn record.
+             */
+            try {
+                this.journal.truncate(end);
+            } catch (IOException t) {
+                e.addSuppressed(t);
+                this.failure = e;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Counts a mutation that has been journaled and applied, and starts a
+     * checkpoint if one is due. The checkpoint must come after the mutation
+     * is applied, since its journal only holds later mutations.
+     *
+     * @throws IOException
+     *             if the journal cannot be switched or the previous
+     *             checkpoint failed
+     */
+    private void mutated() throws IOException {
+        this.sinceCheckpoint++;
+        if (this.sinceCheckpoint >= this.checkpointInterval
+                && (this.pendingCheckpoint == null
+                        || this.pendingCheckpoint.isDone())) {
+            this.checkpoint();
+        }
+    }
+
+    /**
+     * Writes {@code sorted} as checkpoint {@code g}, then deletes the files it
+     * makes obsolete. Runs on the checkpointer thread.
+     *
+     * @param sorted
+     *            the elements, in increasing order
+     * @param g
+     *            the generation of the checkpoint
+     * @throws IOException
+     *             if the checkpoint cannot be written
+     */
+    private void writeCheckpoint(List<T> sorted, long g) throws IOException {
+        Path target = checkpointPath(this.dir, g);
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(
+                    Channels.newOutputStream(channel));
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(sorted.size());
+            for (T x : sorted) {
+                byte[] bytes = this.encoder.apply(x)
+                        .getBytes(StandardCharsets.UTF_8);
+                data.writeInt(bytes.length);
+                data.write(bytes);
+            }
+            data.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        /*
+         * The rename must be durable before the files it replaces go away.
+         */
+        forceDirectory(this.dir);
+
+        /*
+         * Everything before generation g is now covered by the checkpoint.
+         */
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.dir)) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                long old = Math.max(
+                        generationOf(name, JOURNAL_PREFIX, JOURNAL_SUFFIX),
+                        generationOf(name, CHECKPOINT_PREFIX,
+                                CHECKPOINT_SUFFIX));
+                if (old >= 0 && old < g) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for the checkpoint in progress, if any, and reports its failure.
+     *
+     * @throws IOException
+     *             if the checkpoint failed or the wait was interrupted
+     */
+    private void awaitCheckpoint() throws IOException {
+        if (this.pendingCheckpoint != null) {
+            try {
+                this.pendingCheckpoint.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while checkpointing", e);
+            } catch (ExecutionException e) {
+                throw new IOException("Checkpoint failed", e.getCause());
+            } finally {
+                this.pendingCheckpoint = null;
+            }
+        }
+    }
+
+    /*
+     * Factory ----------------------------------------------------------------
+     */
+
+    /**
+     * Opens (creating if needed) the durable set stored in {@code dir}, with
+     * default group commit size and checkpoint interval.
+     *
+     * @param <T>
+     *            type of {@code Set} elements
+     * @param dir
+     *            directory holding the journal and checkpoint files
+     * @param encoder
+     *            converts elements to their stored form
+     * @param decoder
+     *            converts stored forms back to elements
+     * @return the recovered set
+     * @throws IOException
+     *             if the files cannot be read or created
+     * @requires decoder.apply(encoder.apply(x)) = x for every x
+     */
+    public static <T extends Comparable<T>> JournaledSet3a<T> open(Path dir,
+            Function<T, String> encoder, Function<String, T> decoder)
+            throws IOException {
+        return open(dir, encoder, decoder, DEFAULT_GROUP_COMMIT_SIZE,
+                DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Opens (creating if needed) the durable set stored in {@code dir}.
+     *
+     * @param <T>
+     *            type of {@code Set} elements
+     * @param dir
+     *            directory holding the journal and checkpoint files
+     * @param encoder
+     *            converts elements to their stored form
+     * @param decoder
+     *            converts stored forms back to elements
+     * @param groupCommitSize
+     *            number of mutations per forced group
+     * @param checkpointInterval
+     *            number of mutations between automatic checkpoints
+     * @return the recovered set
+     * @throws IOException
+     *             if the files cannot be read or created
+     * @requires <pre>
+     * decoder.apply(encoder.apply(x)) = x for every x  and
+     *  groupCommitSize > 0  and  checkpointInterval > 0
+     * </pre>
+     */
+    public static <T extends Comparable<T>> JournaledSet3a<T> open(Path dir,
+            Function<T, String> encoder, Function<String, T> decoder,
+            int groupCommitSize, int checkpointInterval) throws IOException {
+        assert dir != null : "Violation of: dir is not null";
+        assert encoder != null : "Violation of: encoder is not null";
+        assert decoder != null : "Violation of: decoder is not null";
+        assert groupCommitSize > 0 : "Violation of: groupCommitSize > 0";
+        assert checkpointInterval > 0 : "Violation of: checkpointInterval > 0";
+
+        Files.createDirectories(dir);
+        JournaledSet3a<T> result = new JournaledSet3a<T>(dir, encoder,
+                decoder, groupCommitSize, checkpointInterval);
+        result.recover();
+        return result;
+    }
+
+    /*
+     * Public methods ---------------------------------------------------------
+     */
+
+    /**
+     * Adds {@code x} to {@code this} and journals it.
+     *
+     * @param x
+     *            the element to be added
+     * @throws IOException
+     *             if the journal cannot be written
+     * @aliases reference {@code x}
+     * @updates this
+     * @requires x is not in this
+     * @ensures this = #this union {x}
+     */
+    public void add(T x) throws IOException {
+        assert x != null : "Violation of: x is not null";
+        assert !this.set.contains(x) : "Violation of: x is not in this";
+
+        this.log(OP_ADD, x);
+        this.set.add(x);
+        this.mutated();
+    }
+
+    /**
+     * Removes {@code x} from {@code this}, journals it, and returns it.
+     *
+     * @param x
+     *            the element to be removed
+     * @return the element removed
+     * @throws IOException
+     *             if the journal cannot be written
+     * @updates this
+     * @requires x is in this
+     * @ensures this = #this \ {x} and remove = x
+     */
+    public T remove(T x) throws IOException {
+        assert x != null : "Violation of: x is not null";
+        assert this.set.contains(x) : "Violation of: x is in this";
+
+        this.log(OP_REMOVE, x);
+        T removed = this.set.remove(x);
+        this.mutated();
+        return removed;
+    }
+
+    /**
+     * Removes and returns the smallest element of {@code this}, journaling it.
+     *
+     * @return the element removed
+     * @throws IOException
+     *             if the journal cannot be written
+     * @updates this
+     * @requires this /= empty_set
+     * @ensures removeAny is in #this and this = #this \ {removeAny}
+     */
+    public T removeAny() throws IOException {
+        assert this.set.size() > 0 : "Violation of: this /= empty_set";
+
+        T smallest = this.set.smallest();
+        this.log(OP_REMOVE, smallest);
+        T removed = this.set.remove(smallest);
+        this.mutated();
+        return removed;
+    }
+
+    /**
+     * Reports whether {@code x} is in {@code this}.
+     *
+     * @param x
+     *            the element to be checked
+     * @return true iff element is in this
+     * @ensures contains = (x is in this)
+     */
+    public boolean contains(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        return this.set.contains(x);
+    }
+
+    /**
+     * Reports size (cardinality) of {@code this}.
+     *
+     * @return the number of elements in this
+     * @ensures size = |this|
+     */
+    public int size() {
+        return this.set.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this.set.iterator();
+    }
+
+    /**
+     * Forces every journaled mutation to disk. Until this (or {@code close})
+     * returns, up to {@code groupCommitSize - 1} of the latest mutations may
+     * not survive a crash. If the force fails, the journal is marked failed.
+     *
+     * @throws IOException
+     *             if the journal cannot be forced or has failed earlier
+     */
+    public void sync() throws IOException {
+        this.checkHealthy();
+        if (this.unforced > 0) {
+            this.force();
+        }
+    }
+
+    /**
+     * Starts writing a checkpoint of the current contents in the background.
+     * The journal switches to a new generation first, so mutations can
+     * continue while the checkpoint is written. Waits for the previous
+     * checkpoint, if it is still running.
+     *
+     * @throws IOException
+     *             if the journal cannot be switched or the previous
+     *             checkpoint failed
+     */
+    public void checkpoint() throws IOException {
+        this.awaitCheckpoint();
+
+        this.checkHealthy();
+        this.force();
+        this.journal.close();
+        this.sinceCheckpoint = 0;
+        this.generation++;
+        final long g = this.generation;
+        this.journal = FileChannel.open(journalPath(this.dir, g),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        forceDirectory(this.dir);
+
+        /*
+         * Copying the references is the only O(n) work on the writer thread;
+         * encoding and writing happen on the checkpointer.
+         */
+        final List<T> sorted = new ArrayList<T>(this.set.size());
+        for (T x : this.set) {
+            sorted.add(x);
+        }
+        this.pendingCheckpoint = this.checkpointer.submit(() -> {
+            this.writeCheckpoint(sorted, g);
+            return null;
+        });
+    }
+
+    /**
+     * Forces the journal, waits for any checkpoint in progress, and releases
+     * the files.
+     *
+     * @throws IOException
+     *             if the journal cannot be forced or the checkpoint failed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            this.sync();
+            this.awaitCheckpoint();
+        } finally {
+            this.checkpointer.shutdown();
+            this.journal.close();
+        }
+    }
+
+}
@@ -1,4 +1,5 @@
 import java.util.Iterator;
+import java.util.List;
 
 import components.binarytree.BinaryTree;
 import components.binarytree.BinaryTree1;
@@ -9,6 +10,15 @@ import components.set.SetSecondary;
  * {@code Set} represented as a {@code BinaryTree} (maintained as a binary
  * search tree) of elements with implementations of primary methods.
  *
+ * <p>
+ * {@code hashCode} is kept up to date by the kernel methods, so it runs in
+ * O(1) time. It is only guaranteed to be consistent with {@code equals}
+ * between {@code Set3a} instances: {@code equals} also accepts other
+ * {@code Set} implementations, but an equal set of another type may compute
+ * a different hash code, so do not mix {@code Set3a} with other {@code Set}
+ * implementations as keys of one hash-based collection.
+ * </p>
+ *
  * @param <T>
  *            type of {@code Set} elements
  * @mathdefinitions <pre>
@@ -36,6 +46,68 @@ public class Set3a<T extends Comparable<T>> extends SetSecondary<T> {
      */
     private BinaryTree<T> tree;
 
+    /**
+     * Sum of {@code hashCode()} of the elements in {@code this}; the value of
+     * {@code hashCode()}.
+     */
+    private int hashSum;
+
+    /**
+     * Sum of {@code mix(hashCode())} of the elements in {@code this}; used by
+     * {@code equals} to tell most unequal {@code Set3a}s apart in O(1) time.
+     */
+    private int mixedHashSum;
+
+    /**
+     * Returns a scrambled version of {@code h} (the MurmurHash3 finalizer), so
+     * that sums of mixed hashes of different sets rarely collide even when the
+     * element hash codes are small or related.
+     *
+     * @param h
+     *            the hash code
+     * @return the mixed hash code
+     */
+    private static int mix(int h) {
+        final int c1 = 0x85ebca6b;
+        final int c2 = 0xc2b2ae35;
+        final int shift1 = 16;
+        final int shift2 = 13;
+        int m = h;
+        m ^= m >>> shift1;
+        m *= c1;
+        m ^= m >>> shift2;
+        m *= c2;
+        m ^= m >>> shift1;
+        return m;
+    }
+
+    /**
+     * Adds {@code x}'s contribution to the incrementally maintained hashes.
+     *
+     * @param x
+     *            the element added
+     * @updates this.hashSum, this.mixedHashSum
+     */
+    private void hashIn(T x) {
+        int h = x.hashCode();
+        this.hashSum += h;
+        this.mixedHashSum += mix(h);
+    }
+
+    /**
+     * Removes {@code x}'s contribution from the incrementally maintained
+     * hashes.
+     *
+     * @param x
+     *            the element removed
+     * @updates this.hashSum, this.mixedHashSum
+     */
+    private void hashOut(T x) {
+        int h = x.hashCode();
+        this.hashSum -= h;
+        this.mixedHashSum -= mix(h);
+    }
+
     /**
      * Returns whether {@code x} is in {@code t}.
      *
@@ -193,7 +265,40 @@ public class Set3a<T extends Comparable<T>> extends SetSecondary<T> {
              */
             smallestElement = removeSmallest(left);
             t.assemble(root, left, right);
+        } else {
+            /*
+             * The root is the smallest label, so its right subtree takes its
+             * place.
+             */
+            t.transferFrom(right);
+        }
+        return smallestElement;
+    }
+
+    /**
+     * Returns the smallest (left-most) label in {@code t}, leaving {@code t}
+     * unchanged.
+     *
+     * @param <T>
+     *            type of {@code BinaryTree} labels
+     * @param t
+     *            the {@code BinaryTree} to search
+     * @return the smallest label in the given {@code BinaryTree}
+     * @requires IS_BST(t) and |t| > 0
+     * @ensures smallest = [the smallest label in t]
+     */
+    private static <T> T smallest(BinaryTree<T> t) {
+        assert t != null : "Violation of: t is not null";
+        assert t.size() > 0 : "Violation of: |t| > 0";
+
+        BinaryTree<T> left = t.newInstance();
+        BinaryTree<T> right = t.newInstance();
+        T root = t.disassemble(left, right);
+        T smallestElement = root;
+        if (left.size() != 0) {
+            smallestElement = smallest(left);
         }
+        t.assemble(root, left, right);
         return smallestElement;
     }
 
@@ -273,11 +378,41 @@ public class Set3a<T extends Comparable<T>> extends SetSecondary<T> {
         return removed;
     }
 
+    /**
+     * Adds {@code sorted[lo, hi)} to {@code s}, median first, so that the
+     * resulting tree is balanced when {@code s} starts out empty. Shared by
+     * the classes that rebuild a {@code Set3a} from sorted contents.
+     *
+     * @param <T>
+     *            type of {@code Set} elements
+     * @param s
+     *            the set to add to
+     * @param sorted
+     *            the elements, in increasing order
+     * @param lo
+     *            first index to add
+     * @param hi
+     *            one past the last index to add
+     * @updates s
+     * @requires [no element of sorted[lo, hi) is in s]
+     * @ensures s = #s union entries(sorted[lo, hi))
+     */
+    static <T> void addBalanced(Set<T> s, List<T> sorted, int lo, int hi) {
+        if (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            s.add(sorted.get(mid));
+            addBalanced(s, sorted, lo, mid);
+            addBalanced(s, sorted, mid + 1, hi);
+        }
+    }
+
     /**
      * Creator of initial representation.
      */
     private void createNewRep() {
         this.tree = new BinaryTree1<T>();
+        this.hashSum = 0;
+        this.mixedHashSum = 0;
 
     }
 
@@ -327,6 +462,8 @@ public class Set3a<T extends Comparable<T>> extends SetSecondary<T> {
          */
         Set3a<T> localSource = (Set3a<T>) source;
         this.tree = localSource.tree;
+        this.hashSum = localSource.hashSum;
+        this.mixedHashSum = localSource.mixedHashSum;
         localSource.createNewRep();
     }
 
@@ -340,6 +477,7 @@ public class Set3a<T extends Comparable<T>> extends SetSecondary<T> {
         assert !this.contains(x) : "Violation of: x is not in this";
 
         insertInTree(this.tree, x);
+        this.hashIn(x);
 
     }
 
@@ -348,14 +486,18 @@ public class Set3a<T extends Comparable<T>> extends SetSecondary<T> {
         assert x != null : "Violation of: x is not null";
         assert this.contains(x) : "Violation of: x is in this";
 
-        return removeFromTree(this.tree, x);
+        T removed = removeFromTree(this.tree, x);
+        this.hashOut(removed);
+        return removed;
     }
 
     @Override
     public final T removeAny() {
         assert this.size() > 0 : "Violation of: this /= empty_set";
 
-        return removeSmallest(this.tree);
+        T removed = removeSmallest(this.tree);
+        this.hashOut(removed);
+        return removed;
     }
 
     @Override
@@ -376,4 +518,76 @@ public class Set3a<T extends Comparable<T>> extends SetSecondary<T> {
         return this.tree.iterator();
     }
 
+    /*
+     * Other methods ----------------------------------------------------------
+     */
+
+    @Override
+    public final boolean equals(Object obj) {
+        boolean result;
+        if (obj == this) {
+            result = true;
+        } else if (obj instanceof Set3a<?>) {
+            Set3a<?> other = (Set3a<?>) obj;
+            /*
+             * Different sizes or mixed hashes mean different sets; otherwise
+             * both trees iterate in increasing order, so one pass comparing
+             * them element by element decides.
+             */
+            result = this.size() == other.size()
+                    && this.mixedHashSum == other.mixedHashSum;
+            if (result) {
+                Iterator<T> it = this.tree.iterator();
+                Iterator<?> otherIt = other.tree.iterator();
+                while (result && it.hasNext()) {
+                    result = it.next().equals(otherIt.next());
+                }
+            }
+        } else {
+            result = super.equals(obj);
+        }
+        return result;
+    }
+
+    @Override
+    public final int hashCode() {
+        /*
+         * The sum of the element hash codes, kept up to date by add, remove,
+         * and removeAny; consistent with equals only among Set3a instances
+         * (see the class comment).
+         */
+        return this.hashSum;
+    }
+
+    /**
+     * Reports the smallest element of {@code this}, which is the element
+     * {@code removeAny} would remove.
+     *
+     * @return the smallest element
+     * @requires this /= empty_set
+     * @ensures smallest is in this  and  [smallest is the smallest element]
+     */
+    public final T smallest() {
+        assert this.size() > 0 : "Violation of: this /= empty_set";
+
+        return smallest(this.tree);
+    }
+
+    /**
+     * Returns an immutable copy of {@code this} laid out for fast lookups; see
+     * {@link FrozenSet}.
+     *
+     * @return the frozen copy
+     * @ensures freeze = this
+     */
+    public final Set<T> freeze() {
+        Object[] sorted = new Object[this.tree.size()];
+        int i = 0;
+        for (T x : this.tree) {
+            sorted[i] = x;
+            i++;
+        }
+        return new FrozenSet<T>(sorted);
+    }
+
 }
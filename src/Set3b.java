@@ -0,0 +1,477 @@
+import java.util.Iterator;
+
+import components.binarytree.BinaryTree;
+import components.binarytree.BinaryTree1;
+import components.set.Set;
+import components.set.SetSecondary;
+
+/**
+ * {@code Set} represented as a {@code BinaryTree} (maintained as a splay tree,
+ * i.e., a self-adjusting binary search tree) of elements with implementations
+ * of primary methods. Every access moves the accessed label (or the last label
+ * visited while searching for it) to the root, so frequently accessed labels
+ * stay near the top of the tree and all kernel methods run in amortized
+ * O(log n) time.
+ *
+ * @param <T>
+ *            type of {@code Set} elements
+ * @mathdefinitions <pre>
+ * IS_BST(
+ *   tree: binary tree of T
+ *  ): boolean satisfies
+ *  [tree satisfies the binary search tree properties as described in the
+ *   slides with the ordering reported by compareTo for T, including that
+ *   it has no duplicate labels]
+ * </pre>
+ * @convention IS_BST($this.tree)
+ * @correspondence this = labels($this.tree)
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public class Set3b<T extends Comparable<T>> extends SetSecondary<T> {
+
+    /*
+     * Private members --------------------------------------------------------
+     */
+
+    /**
+     * Elements included in {@code this}.
+     */
+    private BinaryTree<T> tree;
+
+    /**
+     * Splays {@code t} around {@code x}: rearranges {@code t} so that its root
+     * is {@code x} if {@code x} is in {@code t}, and otherwise the last label
+     * visited while searching for {@code x}.
+     *
+     * @param <T>
+     *            type of {@code BinaryTree} labels
+     * @param t
+     *            the {@code BinaryTree} to be splayed
+     * @param x
+     *            the label to be searched for
+     * @updates t
+     * @requires IS_BST(t)
+     * @ensures <pre>
+     * IS_BST(t)  and  labels(t) = labels(#t)  and
+     *  (x is in labels(t)  implies  root(t) = x)
+     * </pre>
+     */
+    private static <T extends Comparable<T>> void splay(BinaryTree<T> t,
+            T x) {
+        assert t != null : "Violation of: t is not null";
+        assert x != null : "Violation of: x is not null";
+
+        if (t.size() > 0) {
+            BinaryTree<T> left = t.newInstance();
+            BinaryTree<T> right = t.newInstance();
+            T root = t.disassemble(left, right);
+            int cmp = x.compareTo(root);
+
+            if (cmp < 0 && left.size() > 0) {
+                /*
+                 * x belongs in the left subtree, so take it apart one more
+                 * level to decide between zig, zig-zig, and zig-zag.
+                 */
+                BinaryTree<T> leftLeft = t.newInstance();
+                BinaryTree<T> leftRight = t.newInstance();
+                T leftRoot = left.disassemble(leftLeft, leftRight);
+                int leftCmp = x.compareTo(leftRoot);
+
+                if (leftCmp < 0 && leftLeft.size() > 0) {
+                    /*
+                     * Zig-zig: splay the left-left grandchild, then rotate
+                     * right twice.
+                     */
+                    splay(leftLeft, x);
+                    BinaryTree<T> a = t.newInstance();
+                    BinaryTree<T> b = t.newInstance();
+                    T top = leftLeft.disassemble(a, b);
+                    BinaryTree<T> inner = t.newInstance();
+                    inner.assemble(root, leftRight, right);
+                    BinaryTree<T> outer = t.newInstance();
+                    outer.assemble(leftRoot, b, inner);
+                    t.assemble(top, a, outer);
+                } else if (leftCmp > 0 && leftRight.size() > 0) {
+                    /*
+                     * Zig-zag: splay the left-right grandchild, then lift it
+                     * above both its parent and grandparent.
+                     */
+                    splay(leftRight, x);
+                    BinaryTree<T> b = t.newInstance();
+                    BinaryTree<T> c = t.newInstance();
+                    T top = leftRight.disassemble(b, c);
+                    BinaryTree<T> newLeft = t.newInstance();
+                    newLeft.assemble(leftRoot, leftLeft, b);
+                    BinaryTree<T> newRight = t.newInstance();
+                    newRight.assemble(root, c, right);
+                    t.assemble(top, newLeft, newRight);
+                } else {
+                    /*
+                     * Zig: a single right rotation.
+                     */
+                    BinaryTree<T> newRight = t.newInstance();
+                    newRight.assemble(root, leftRight, right);
+                    t.assemble(leftRoot, leftLeft, newRight);
+                }
+            } else if (cmp > 0 && right.size() > 0) {
+                /*
+                 * Mirror image of the case above.
+                 */
+                BinaryTree<T> rightLeft = t.newInstance();
+                BinaryTree<T> rightRight = t.newInstance();
+                T rightRoot = right.disassemble(rightLeft, rightRight);
+                int rightCmp = x.compareTo(rightRoot);
+
+                if (rightCmp > 0 && rightRight.size() > 0) {
+                    /*
+                     * Zag-zag.
+                     */
+                    splay(rightRight, x);
+                    BinaryTree<T> b = t.newInstance();
+                    BinaryTree<T> c = t.newInstance();
+                    T top = rightRight.disassemble(b, c);
+                    BinaryTree<T> inner = t.newInstance();
+                    inner.assemble(root, left, rightLeft);
+                    BinaryTree<T> outer = t.newInstance();
+                    outer.assemble(rightRoot, inner, b);
+                    t.assemble(top, outer, c);
+                } else if (rightCmp < 0 && rightLeft.size() > 0) {
+                    /*
+                     * Zag-zig.
+                     */
+                    splay(rightLeft, x);
+                    BinaryTree<T> b = t.newInstance();
+                    BinaryTree<T> c = t.newInstance();
+                    T top = rightLeft.disassemble(b, c);
+                    BinaryTree<T> newLeft = t.newInstance();
+                    newLeft.assemble(root, left, b);
+                    BinaryTree<T> newRight = t.newInstance();
+                    newRight.assemble(rightRoot, c, rightRight);
+                    t.assemble(top, newLeft, newRight);
+                } else {
+                    /*
+                     * Zag: a single left rotation.
+                     */
+                    BinaryTree<T> newLeft = t.newInstance();
+                    newLeft.assemble(root, left, rightLeft);
+                    t.assemble(rightRoot, newLeft, rightRight);
+                }
+            } else {
+                /*
+                 * Either the root is x or the search stops here.
+                 */
+                t.assemble(root, left, right);
+            }
+        }
+    }
+
+    /**
+     * Splays the smallest (left-most) label of {@code t} to the root.
+     *
+     * @param <T>
+     *            type of {@code BinaryTree} labels
+     * @param t
+     *            the {@code BinaryTree} to be splayed
+     * @updates t
+     * @requires IS_BST(t)
+     * @ensures <pre>
+     * IS_BST(t)  and  labels(t) = labels(#t)  and
+     *  (|t| > 0  implies  root(t) = [the smallest label in t])
+     * </pre>
+     */
+    private static <T> void splaySmallest(BinaryTree<T> t) {
+        assert t != null : "Violation of: t is not null";
+
+        if (t.size() > 1) {
+            BinaryTree<T> left = t.newInstance();
+            BinaryTree<T> right = t.newInstance();
+            T root = t.disassemble(left, right);
+
+            if (left.size() > 0) {
+                BinaryTree<T> leftLeft = t.newInstance();
+                BinaryTree<T> leftRight = t.newInstance();
+                T leftRoot = left.disassemble(leftLeft, leftRight);
+
+                if (leftLeft.size() > 0) {
+                    /*
+                     * Zig-zig along the left spine.
+                     */
+                    splaySmallest(leftLeft);
+                    BinaryTree<T> a = t.newInstance();
+                    BinaryTree<T> b = t.newInstance();
+                    T top = leftLeft.disassemble(a, b);
+                    BinaryTree<T> inner = t.newInstance();
+                    inner.assemble(root, leftRight, right);
+                    BinaryTree<T> outer = t.newInstance();
+                    outer.assemble(leftRoot, b, inner);
+                    t.assemble(top, a, outer);
+                } else {
+                    /*
+                     * Zig: the left child is the smallest label.
+                     */
+                    BinaryTree<T> newRight = t.newInstance();
+                    newRight.assemble(root, leftRight, right);
+                    t.assemble(leftRoot, leftLeft, newRight);
+                }
+            } else {
+                /*
+                 * The root is already the smallest label.
+                 */
+                t.assemble(root, left, right);
+            }
+        }
+    }
+
+    /**
+     * Splays the largest (right-most) label of {@code t} to the root; the
+     * mirror image of {@code splaySmallest}.
+     *
+     * @param <T>
+     *            type of {@code BinaryTree} labels
+     * @param t
+     *            the {@code BinaryTree} to be splayed
+     * @updates t
+     * @requires IS_BST(t)
+     * @ensures <pre>
+     * IS_BST(t)  and  labels(t) = labels(#t)  and
+     *  (|t| > 0  implies  root(t) = [the largest label in t])
+     * </pre>
+     */
+    private static <T> void splayLargest(BinaryTree<T> t) {
+        assert t != null : "Violation of: t is not null";
+
+        if (t.size() > 1) {
+            BinaryTree<T> left = t.newInstance();
+            BinaryTree<T> right = t.newInstance();
+            T root = t.disassemble(left, right);
+
+            if (right.size() > 0) {
+                BinaryTree<T> rightLeft = t.newInstance();
+                BinaryTree<T> rightRight = t.newInstance();
+                T rightRoot = right.disassemble(rightLeft, rightRight);
+
+                if (rightRight.size() > 0) {
+                    /*
+                     * Zag-zag along the right spine.
+                     */
+                    splayLargest(rightRight);
+                    BinaryTree<T> b = t.newInstance();
+                    BinaryTree<T> c = t.newInstance();
+                    T top = rightRight.disassemble(b, c);
+                    BinaryTree<T> inner = t.newInstance();
+                    inner.assemble(root, left, rightLeft);
+                    BinaryTree<T> outer = t.newInstance();
+                    outer.assemble(rightRoot, inner, b);
+                    t.assemble(top, outer, c);
+                } else {
+                    /*
+                     * Zag: the right child is the largest label.
+                     */
+                    BinaryTree<T> newLeft = t.newInstance();
+                    newLeft.assemble(root, left, rightLeft);
+                    t.assemble(rightRoot, newLeft, rightRight);
+                }
+            } else {
+                /*
+                 * The root is already the largest label.
+                 */
+                t.assemble(root, left, right);
+            }
+        }
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+        this.tree = new BinaryTree1<T>();
+
+    }
+
+    /*
+     * Constructors -----------------------------------------------------------
+     */
+
+    /**
+     * No-argument constructor.
+     */
+    public Set3b() {
+
+        this.createNewRep();
+
+    }
+
+    /*
+     * Standard methods -------------------------------------------------------
+     */
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final Set<T> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        this.createNewRep();
+    }
+
+    @Override
+    public final void transferFrom(Set<T> source) {
+        assert source != null : "Violation of: source is not null";
+        assert source != this : "Violation of: source is not this";
+        assert source instanceof Set3b<?> : ""
+                + "Violation of: source is of dynamic type Set3b<?>";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case: source must be of dynamic type Set3b<?>, and
+         * the ? must be T or the call would not have compiled.
+         */
+        Set3b<T> localSource = (Set3b<T>) source;
+        this.tree = localSource.tree;
+        localSource.createNewRep();
+    }
+
+    /*
+     * Kernel methods ---------------------------------------------------------
+     */
+
+    @Override
+    public final void add(T x) {
+        assert x != null : "Violation of: x is not null";
+        assert !this.contains(x) : "Violation of: x is not in this";
+
+        BinaryTree<T> left = this.tree.newInstance();
+        BinaryTree<T> right = this.tree.newInstance();
+
+        /*
+         * Splay the nearest label to the root, then split the tree around it
+         * so that x becomes the new root.
+         */
+        splay(this.tree, x);
+        if (this.tree.size() > 0) {
+            BinaryTree<T> empty = this.tree.newInstance();
+            T root = this.tree.disassemble(left, right);
+            if (x.compareTo(root) > 0) {
+                BinaryTree<T> newLeft = this.tree.newInstance();
+                newLeft.assemble(root, left, empty);
+                this.tree.assemble(x, newLeft, right);
+            } else {
+                BinaryTree<T> newRight = this.tree.newInstance();
+                newRight.assemble(root, empty, right);
+                this.tree.assemble(x, left, newRight);
+            }
+        } else {
+            this.tree.assemble(x, left, right);
+        }
+    }
+
+    @Override
+    public final T remove(T x) {
+        assert x != null : "Violation of: x is not null";
+        assert this.contains(x) : "Violation of: x is in this";
+
+        BinaryTree<T> left = this.tree.newInstance();
+        BinaryTree<T> right = this.tree.newInstance();
+
+        /*
+         * Bring x to the root and take it out; then splay the largest label
+         * of the left subtree (which has no right child afterwards) to join
+         * the two halves.
+         */
+        splay(this.tree, x);
+        T removed = this.tree.disassemble(left, right);
+        if (left.size() > 0) {
+            splay(left, x);
+            BinaryTree<T> leftLeft = this.tree.newInstance();
+            BinaryTree<T> leftRight = this.tree.newInstance();
+            T leftRoot = left.disassemble(leftLeft, leftRight);
+            this.tree.assemble(leftRoot, leftLeft, right);
+        } else {
+            this.tree.transferFrom(right);
+        }
+        return removed;
+    }
+
+    @Override
+    public final T removeAny() {
+        assert this.size() > 0 : "Violation of: this /= empty_set";
+
+        BinaryTree<T> left = this.tree.newInstance();
+        BinaryTree<T> right = this.tree.newInstance();
+
+        splaySmallest(this.tree);
+        T removed = this.tree.disassemble(left, right);
+        this.tree.transferFrom(right);
+        return removed;
+    }
+
+    @Override
+    public final boolean contains(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        splay(this.tree, x);
+        return this.tree.size() > 0 && this.tree.root().equals(x);
+    }
+
+    @Override
+    public final int size() {
+
+        return this.tree.size();
+    }
+
+    @Override
+    public final Iterator<T> iterator() {
+        return this.tree.iterator();
+    }
+
+    /*
+     * Other methods ----------------------------------------------------------
+     */
+
+    /**
+     * Removes and returns the largest element of {@code this}; the mirror
+     * image of {@code removeAny}.
+     *
+     * @return the element removed
+     * @updates this
+     * @requires this /= empty_set
+     * @ensures <pre>
+     * removeLargest is in #this  and  this = #this \ {removeLargest}  and
+     *  [removeLargest is the largest element of #this]
+     * </pre>
+     */
+    public final T removeLargest() {
+        assert this.size() > 0 : "Violation of: this /= empty_set";
+
+        BinaryTree<T> left = this.tree.newInstance();
+        BinaryTree<T> right = this.tree.newInstance();
+
+        splayLargest(this.tree);
+        T removed = this.tree.disassemble(left, right);
+        this.tree.transferFrom(left);
+        return removed;
+    }
+
+    /**
+     * Reports the label at the root of the tree, which is the label most
+     * recently accessed. Package-private so tests can check the splaying.
+     *
+     * @return the root label
+     * @requires this /= empty_set
+     * @ensures root = root($this.tree)
+     */
+    final T root() {
+        assert this.size() > 0 : "Violation of: this /= empty_set";
+
+        return this.tree.root();
+    }
+
+}
@@ -0,0 +1,523 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import components.set.Set;
+import components.set.SetSecondary;
+
+/**
+ * {@code Set} represented as a sequence of {@code Set3a} shards, each holding
+ * a contiguous range of the key space and guarded by its own lock, with
+ * implementations of primary methods. Kernel methods on keys in different
+ * shards can run concurrently from different threads. When one shard grows
+ * past twice the average shard size, it and as few neighbouring shards as
+ * needed are rebuilt with new split points at evenly spaced keys; the other
+ * shards keep their ranges and trees.
+ *
+ * <p>
+ * A rebalance holds the layout lock exclusively, so every kernel method
+ * waits for it. It copies and re-inserts every element of the rebuilt
+ * shards (all shards, the first time the key space is split), so the pause
+ * grows with the number of elements moved.
+ * </p>
+ *
+ * <p>
+ * Kernel methods ({@code add}, {@code remove}, {@code removeAny},
+ * {@code contains}, {@code size}) and {@code iterator} are thread-safe.
+ * {@code iterator} returns a snapshot of the elements in increasing order.
+ * {@code clear} and {@code transferFrom} lock {@code this} but not
+ * {@code source}, so {@code source} must not be in use by other threads.
+ * </p>
+ *
+ * @param <T>
+ *            type of {@code Set} elements
+ * @mathdefinitions <pre>
+ * IN_RANGE(
+ *   x: T, splits: string of T, i: integer
+ *  ): boolean satisfies
+ *  [(i = 0 or splits[i-1, i) <= x) and
+ *   (i = |splits| or x < splits[i, i+1))]
+ * </pre>
+ * @convention <pre>
+ * |$this.shards| = |$this.locks| = $this.shardCount  and
+ * |$this.splits| < $this.shardCount  and
+ * [$this.splits is strictly increasing]  and
+ * [for every i, every x in $this.shards[i] satisfies
+ *  IN_RANGE(x, $this.splits, i)]  and
+ * [shards at index > |$this.splits| are empty]  and
+ * $this.size = sum of |$this.shards[i]|
+ * </pre>
+ * @correspondence this = union of $this.shards[i]
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public class Set3c<T extends Comparable<T>> extends SetSecondary<T> {
+
+    /*
+     * Private members --------------------------------------------------------
+     */
+
+    /**
+     * Number of shards used by the no-argument constructor.
+     */
+    private static final int DEFAULT_SHARD_COUNT = 16;
+
+    /**
+     * Smallest number of elements per shard (on average) before skew is
+     * checked; below this a single tree is cheap enough.
+     */
+    private static final int REBALANCE_MIN_AVERAGE = 64;
+
+    /**
+     * A shard is considered skewed when it holds more than this many times the
+     * average number of elements per shard.
+     */
+    private static final int SKEW_FACTOR = 2;
+
+    /**
+     * Numerator of the largest ratio, after a rebalance, of the average size
+     * of the rebuilt shards to the overall average shard size.
+     */
+    private static final int WINDOW_FACTOR_NUMERATOR = 3;
+
+    /**
+     * Denominator of the ratio described for {@code WINDOW_FACTOR_NUMERATOR}.
+     */
+    private static final int WINDOW_FACTOR_DENOMINATOR = 2;
+
+    /**
+     * Number of shards.
+     */
+    private final int shardCount;
+
+    /**
+     * Shards, in increasing key order.
+     */
+    private List<Set3a<T>> shards;
+
+    /**
+     * One lock per shard.
+     */
+    private List<ReentrantLock> locks;
+
+    /**
+     * Split points; {@code splits.get(i)} is the smallest key that belongs in
+     * shard {@code i + 1}.
+     */
+    private List<T> splits;
+
+    /**
+     * Total number of elements across all shards.
+     */
+    private AtomicInteger size;
+
+    /**
+     * Guards the shard layout: held for reading by kernel methods and for
+     * writing while shards are redistributed or replaced.
+     */
+    private final ReadWriteLock layout = new ReentrantReadWriteLock();
+
+    /**
+     * Returns the index of the shard whose range contains {@code x}.
+     *
+     * @param <T>
+     *            type of split points
+     * @param splits
+     *            the split points
+     * @param x
+     *            the key
+     * @return the index of the shard for {@code x}
+     * @requires [splits is strictly increasing]
+     * @ensures IN_RANGE(x, splits, shardIndex)
+     */
+    private static <T extends Comparable<T>> int shardIndex(List<T> splits,
+            T x) {
+        assert splits != null : "Violation of: splits is not null";
+        assert x != null : "Violation of: x is not null";
+
+        /*
+         * Binary search for the number of split points <= x.
+         */
+        int lo = 0;
+        int hi = splits.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (splits.get(mid).compareTo(x) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+        this.shards = new ArrayList<Set3a<T>>(this.shardCount);
+        this.locks = new ArrayList<ReentrantLock>(this.shardCount);
+        for (int i = 0; i < this.shardCount; i++) {
+            this.shards.add(new Set3a<T>());
+            this.locks.add(new ReentrantLock());
+        }
+        this.splits = new ArrayList<T>();
+        this.size = new AtomicInteger();
+    }
+
+    /**
+     * Reports whether a shard holding {@code shardSize} elements is skewed
+     * enough, given the current total size, to warrant a rebalance.
+     *
+     * @param shardSize
+     *            number of elements in the shard
+     * @return true iff the shards should be rebalanced
+     */
+    private boolean isSkewed(int shardSize) {
+        int average = this.size.get() / this.shardCount;
+        return this.shardCount > 1 && average >= REBALANCE_MIN_AVERAGE
+                && shardSize > SKEW_FACTOR * average;
+    }
+
+    /**
+     * Evens out the shards around the largest one, unless another thread
+     * already did so. The window of shards to rebuild starts at the largest
+     * shard and grows toward its smaller neighbour until the window's
+     * elements, spread evenly over its shards, come to at most
+     * {@code WINDOW_FACTOR_NUMERATOR / WINDOW_FACTOR_DENOMINATOR} times the
+     * overall average. Only the shards in
+     * the window, and the split points between them, are replaced; the first
+     * rebalance, before any split points exist, rebuilds every shard.
+     *
+     * @updates this
+     * @ensures this = #this
+     */
+    private void rebalance() {
+        this.layout.writeLock().lock();
+        try {
+            int largest = 0;
+            for (int i = 1; i < this.shardCount; i++) {
+                if (this.shards.get(i).size() > this.shards.get(largest)
+                        .size()) {
+                    largest = i;
+                }
+            }
+            /*
+             * Another thread may have rebalanced while this one waited.
+             */
+            if (this.isSkewed(this.shards.get(largest).size())) {
+                int average = this.size.get() / this.shardCount;
+                int first = largest;
+                int last = largest;
+                long windowSize = this.shards.get(largest).size();
+                if (this.splits.size() < this.shardCount - 1) {
+                    first = 0;
+                    last = this.shardCount - 1;
+                } else {
+                    long limit = (long) average * WINDOW_FACTOR_NUMERATOR;
+                    while (last - first + 1 < this.shardCount
+                            && windowSize * WINDOW_FACTOR_DENOMINATOR > limit
+                                    * (last - first + 1)) {
+                        long below = Long.MAX_VALUE;
+                        if (first > 0) {
+                            below = this.shards.get(first - 1).size();
+                        }
+                        long above = Long.MAX_VALUE;
+                        if (last < this.shardCount - 1) {
+                            above = this.shards.get(last + 1).size();
+                        }
+                        if (below <= above) {
+                            first--;
+                            windowSize += below;
+                        } else {
+                            last++;
+                            windowSize += above;
+                        }
+                    }
+                }
+                this.rebuild(first, last);
+            }
+        } finally {
+            this.layout.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Redistributes the elements of shards {@code first} through
+     * {@code last} evenly among those shards, with split points at evenly
+     * spaced elements, leaving every other shard untouched.
+     *
+     * @param first
+     *            index of the first shard to rebuild
+     * @param last
+     *            index of the last shard to rebuild
+     * @updates this
+     * @requires <pre>
+     * [the caller holds the layout write lock]  and
+     *  0 <= first <= last < $this.shardCount  and
+     *  (|$this.splits| < $this.shardCount - 1  implies
+     *   first = 0  and  last = $this.shardCount - 1)
+     * </pre>
+     * @ensures this = #this
+     */
+    private void rebuild(int first, int last) {
+        int width = last - first + 1;
+        List<T> sorted = new ArrayList<T>();
+        for (int i = first; i <= last; i++) {
+            for (T x : this.shards.get(i)) {
+                sorted.add(x);
+            }
+        }
+        int n = sorted.size();
+        /*
+         * Evenly spaced split points are distinct only if every shard in the
+         * window gets at least one element.
+         */
+        if (n >= width) {
+            List<T> newSplits = new ArrayList<T>(this.splits);
+            while (newSplits.size() < this.shardCount - 1) {
+                newSplits.add(null);
+            }
+            List<Set3a<T>> newShards = new ArrayList<Set3a<T>>(this.shards);
+            int lo = 0;
+            for (int i = 0; i < width; i++) {
+                int hi = (int) ((long) n * (i + 1) / width);
+                if (i > 0) {
+                    newSplits.set(first + i - 1, sorted.get(lo));
+                }
+                Set3a<T> shard = new Set3a<T>();
+                Set3a.addBalanced(shard, sorted, lo, hi);
+                newShards.set(first + i, shard);
+                lo = hi;
+            }
+            this.shards = newShards;
+            this.splits = newSplits;
+        }
+    }
+
+    /*
+     * Constructors -----------------------------------------------------------
+     */
+
+    /**
+     * No-argument constructor.
+     */
+    public Set3c() {
+        this(DEFAULT_SHARD_COUNT);
+    }
+
+    /**
+     * Constructor with the number of shards.
+     *
+     * @param shardCount
+     *            number of independently locked shards
+     * @requires shardCount > 0
+     */
+    public Set3c(int shardCount) {
+        assert shardCount > 0 : "Violation of: shardCount > 0";
+
+        this.shardCount = shardCount;
+        this.createNewRep();
+    }
+
+    /*
+     * Standard methods -------------------------------------------------------
+     */
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final Set<T> newInstance() {
+        try {
+            return this.getClass().getConstructor(int.class)
+                    .newInstance(this.shardCount);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        this.layout.writeLock().lock();
+        try {
+            this.createNewRep();
+        } finally {
+            this.layout.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public final void transferFrom(Set<T> source) {
+        assert source != null : "Violation of: source is not null";
+        assert source != this : "Violation of: source is not this";
+        assert source instanceof Set3c<?> : ""
+                + "Violation of: source is of dynamic type Set3c<?>";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case: source must be of dynamic type Set3c<?>, and
+         * the ? must be T or the call would not have compiled.
+         */
+        Set3c<T> localSource = (Set3c<T>) source;
+        assert localSource.shardCount == this.shardCount : ""
+                + "Violation of: source has the same number of shards as this";
+        this.layout.writeLock().lock();
+        try {
+            this.shards = localSource.shards;
+            this.locks = localSource.locks;
+            this.splits = localSource.splits;
+            this.size = localSource.size;
+            localSource.createNewRep();
+        } finally {
+            this.layout.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Kernel methods ---------------------------------------------------------
+     */
+
+    @Override
+    public final void add(T x) {
+        assert x != null : "Violation of: x is not null";
+        assert !this.contains(x) : "Violation of: x is not in this";
+
+        boolean skewed;
+        this.layout.readLock().lock();
+        try {
+            int i = shardIndex(this.splits, x);
+            ReentrantLock lock = this.locks.get(i);
+            lock.lock();
+            try {
+                Set3a<T> shard = this.shards.get(i);
+                shard.add(x);
+                this.size.incrementAndGet();
+                skewed = this.isSkewed(shard.size());
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            this.layout.readLock().unlock();
+        }
+        if (skewed) {
+            this.rebalance();
+        }
+    }
+
+    @Override
+    public final T remove(T x) {
+        assert x != null : "Violation of: x is not null";
+        assert this.contains(x) : "Violation of: x is in this";
+
+        this.layout.readLock().lock();
+        try {
+            int i = shardIndex(this.splits, x);
+            ReentrantLock lock = this.locks.get(i);
+            lock.lock();
+            try {
+                T removed = this.shards.get(i).remove(x);
+                this.size.decrementAndGet();
+                return removed;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            this.layout.readLock().unlock();
+        }
+    }
+
+    @Override
+    public final T removeAny() {
+        assert this.size() > 0 : "Violation of: this /= empty_set";
+
+        /*
+         * Like Set3a, remove the smallest element: the smallest element of the
+         * first non-empty shard.
+         */
+        T removed = null;
+        this.layout.readLock().lock();
+        try {
+            for (int i = 0; removed == null && i < this.shardCount; i++) {
+                ReentrantLock lock = this.locks.get(i);
+                lock.lock();
+                try {
+                    Set3a<T> shard = this.shards.get(i);
+                    if (shard.size() > 0) {
+                        removed = shard.removeAny();
+                        this.size.decrementAndGet();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            this.layout.readLock().unlock();
+        }
+        assert removed != null : "Violation of: this /= empty_set";
+        return removed;
+    }
+
+    @Override
+    public final boolean contains(T x) {
+        assert x != null : "Violation of: x is not null";
+
+        /*
+         * Set3a.contains takes its tree apart and puts it back together, so a
+         * lookup needs the shard lock too.
+         */
+        this.layout.readLock().lock();
+        try {
+            int i = shardIndex(this.splits, x);
+            ReentrantLock lock = this.locks.get(i);
+            lock.lock();
+            try {
+                return this.shards.get(i).contains(x);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            this.layout.readLock().unlock();
+        }
+    }
+
+    @Override
+    public final int size() {
+
+        return this.size.get();
+    }
+
+    @Override
+    public final Iterator<T> iterator() {
+        List<T> snapshot = new ArrayList<T>(this.size.get());
+        this.layout.readLock().lock();
+        try {
+            /*
+             * Lock every shard (always in increasing index order) so the
+             * snapshot is consistent.
+             */
+            for (ReentrantLock lock : this.locks) {
+                lock.lock();
+            }
+            try {
+                for (Set3a<T> shard : this.shards) {
+                    for (T x : shard) {
+                        snapshot.add(x);
+                    }
+                }
+            } finally {
+                for (ReentrantLock lock : this.locks) {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            this.layout.readLock().unlock();
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+}
@@ -0,0 +1,511 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import components.set.Set;
+import components.set.SetSecondary;
+
+/**
+ * {@code Set<String>} represented as a compressed (radix / Patricia) trie with
+ * implementations of primary methods, plus prefix queries. Strings that share
+ * a prefix share the nodes for it, so each prefix is stored once and a lookup
+ * compares each character of the key at most once.
+ *
+ * @mathdefinitions <pre>
+ * IS_RADIX_TRIE(
+ *   n: node
+ *  ): boolean satisfies
+ *  [the labels of the children of every node are non-empty, start with
+ *   distinct characters, and are sorted by their first character]  and
+ *  [every node other than n with fewer than two children is terminal]  and
+ *  [the count of every node is the number of terminal nodes in its subtree]
+ *
+ * STRINGS(
+ *   n: node
+ *  ): finite set of string of character satisfies
+ *  [the set of concatenations of the labels along the path from n to each
+ *   terminal node in its subtree, excluding the label of n itself]
+ * </pre>
+ * @convention IS_RADIX_TRIE($this.root) and $this.root.label = ""
+ * @correspondence this = STRINGS($this.root)
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public class Set4 extends SetSecondary<String> {
+
+    /*
+     * Private members --------------------------------------------------------
+     */
+
+    /**
+     * Node of the trie.
+     */
+    private static final class Node {
+
+        /**
+         * No children, shared by every leaf.
+         */
+        private static final Node[] NONE = new Node[0];
+
+        /**
+         * Characters on the edge from the parent to this node.
+         */
+        private String label;
+
+        /**
+         * Whether the path to this node spells an element.
+         */
+        private boolean terminal;
+
+        /**
+         * Number of terminal nodes in this subtree, including this node.
+         */
+        private int count;
+
+        /**
+         * Children, sorted by the first character of their labels.
+         */
+        private Node[] children;
+
+        /**
+         * Constructor.
+         *
+         * @param label
+         *            edge label
+         * @param terminal
+         *            whether the node spells an element
+         * @param count
+         *            number of terminal nodes in the subtree
+         */
+        private Node(String label, boolean terminal, int count) {
+            this.label = label;
+            this.terminal = terminal;
+            this.count = count;
+            this.children = NONE;
+        }
+
+    }
+
+    /**
+     * Root of the trie; its label is empty.
+     */
+    private Node root;
+
+    /**
+     * Returns the index of the child of {@code n} whose label starts with
+     * {@code c}, or {@code -(insertion point) - 1} if there is none.
+     *
+     * @param n
+     *            the node
+     * @param c
+     *            the first character
+     * @return the index, as for {@code Arrays.binarySearch}
+     */
+    private static int childIndex(Node n, char c) {
+        int lo = 0;
+        int hi = n.children.length - 1;
+        int result = -1;
+        while (lo <= hi && result < 0) {
+            int mid = (lo + hi) >>> 1;
+            char midChar = n.children[mid].label.charAt(0);
+            if (midChar < c) {
+                lo = mid + 1;
+            } else if (midChar > c) {
+                hi = mid - 1;
+            } else {
+                result = mid;
+            }
+        }
+        if (result < 0) {
+            result = -lo - 1;
+        }
+        return result;
+    }
+
+    /**
+     * Inserts {@code child} into the children of {@code n} at {@code index}.
+     *
+     * @param n
+     *            the node
+     * @param index
+     *            the insertion point
+     * @param child
+     *            the new child
+     * @updates n.children
+     */
+    private static void insertChild(Node n, int index, Node child) {
+        Node[] grown = new Node[n.children.length + 1];
+        System.arraycopy(n.children, 0, grown, 0, index);
+        grown[index] = child;
+        System.arraycopy(n.children, index, grown, index + 1,
+                n.children.length - index);
+        n.children = grown;
+    }
+
+    /**
+     * Removes the child of {@code n} at {@code index}.
+     *
+     * @param n
+     *            the node
+     * @param index
+     *            the index of the child
+     * @updates n.children
+     */
+    private static void removeChild(Node n, int index) {
+        Node[] shrunk = Node.NONE;
+        if (n.children.length > 1) {
+            shrunk = new Node[n.children.length - 1];
+            System.arraycopy(n.children, 0, shrunk, 0, index);
+            System.arraycopy(n.children, index + 1, shrunk, index,
+                    n.children.length - index - 1);
+        }
+        n.children = shrunk;
+    }
+
+    /**
+     * Returns the length of the longest common prefix of {@code x} starting at
+     * {@code pos} and {@code label}.
+     *
+     * @param x
+     *            the key
+     * @param pos
+     *            the starting position in {@code x}
+     * @param label
+     *            the edge label
+     * @return the length of the common prefix
+     */
+    private static int commonPrefix(String x, int pos, String label) {
+        int limit = Math.min(x.length() - pos, label.length());
+        int i = 0;
+        while (i < limit && x.charAt(pos + i) == label.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Removes {@code x} from the subtree of {@code n}, whose path from the
+     * root spells {@code x[0, pos)}, and restores the trie shape below
+     * {@code n}.
+     *
+     * @param n
+     *            the node
+     * @param x
+     *            the element to be removed
+     * @param pos
+     *            the number of characters of {@code x} consumed so far
+     * @updates n
+     * @requires x[pos, |x|) is in STRINGS(n)
+     * @ensures STRINGS(n) = STRINGS(#n) \ {x[pos, |x|)}
+     */
+    private static void removeFrom(Node n, String x, int pos) {
+        n.count--;
+        if (pos == x.length()) {
+            n.terminal = false;
+        } else {
+            int i = childIndex(n, x.charAt(pos));
+            assert i >= 0 : "Violation of: x is in this";
+            Node child = n.children[i];
+            removeFrom(child, x, pos + child.label.length());
+            if (child.count == 0) {
+                removeChild(n, i);
+            } else if (!child.terminal && child.children.length == 1) {
+                /*
+                 * A non-terminal node with one child is merged into it.
+                 */
+                Node grandchild = child.children[0];
+                grandchild.label = child.label + grandchild.label;
+                n.children[i] = grandchild;
+            }
+        }
+    }
+
+    /**
+     * Adds every string in the subtree of {@code n} to {@code out}, in
+     * increasing order, each prefixed by the current contents of {@code path}.
+     *
+     * @param n
+     *            the node
+     * @param path
+     *            the characters spelled by the path to {@code n}
+     * @param out
+     *            the strings found
+     * @updates out
+     * @ensures path = #path
+     */
+    private static void collect(Node n, StringBuilder path, List<String> out) {
+        if (n.terminal) {
+            out.add(path.toString());
+        }
+        for (Node child : n.children) {
+            int mark = path.length();
+            path.append(child.label);
+            collect(child, path, out);
+            path.setLength(mark);
+        }
+    }
+
+    /**
+     * Returns the highest node whose path from the root starts with
+     * {@code prefix}, and appends the characters of that path to
+     * {@code path}; returns {@code null} if there is none.
+     *
+     * @param prefix
+     *            the prefix
+     * @param path
+     *            receives the characters spelled by the path to the node
+     * @return the node, or {@code null}
+     * @updates path
+     */
+    private Node locate(String prefix, StringBuilder path) {
+        Node n = this.root;
+        int pos = 0;
+        while (n != null && pos < prefix.length()) {
+            int i = childIndex(n, prefix.charAt(pos));
+            if (i < 0) {
+                n = null;
+            } else {
+                Node child = n.children[i];
+                int common = commonPrefix(prefix, pos, child.label);
+                if (pos + common == prefix.length()
+                        || common == child.label.length()) {
+                    /*
+                     * Either the prefix ends inside (or at the end of) this
+                     * edge, or the whole edge matched and the search goes on.
+                     */
+                    path.append(child.label);
+                    pos += common;
+                    n = child;
+                } else {
+                    n = null;
+                }
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Creator of initial representation.
+     */
+    private void createNewRep() {
+        this.root = new Node("", false, 0);
+    }
+
+    /*
+     * Constructors -----------------------------------------------------------
+     */
+
+    /**
+     * No-argument constructor.
+     */
+    public Set4() {
+
+        this.createNewRep();
+
+    }
+
+    /*
+     * Standard methods -------------------------------------------------------
+     */
+
+    @Override
+    public final Set<String> newInstance() {
+        try {
+            return this.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(
+                    "Cannot construct object of type " + this.getClass());
+        }
+    }
+
+    @Override
+    public final void clear() {
+        this.createNewRep();
+    }
+
+    @Override
+    public final void transferFrom(Set<String> source) {
+        assert source != null : "Violation of: source is not null";
+        assert source != this : "Violation of: source is not this";
+        assert source instanceof Set4 : ""
+                + "Violation of: source is of dynamic type Set4";
+        /*
+         * This cast cannot fail since the assert above would have stopped
+         * execution in that case.
+         */
+        Set4 localSource = (Set4) source;
+        this.root = localSource.root;
+        localSource.createNewRep();
+    }
+
+    /*
+     * Kernel methods ---------------------------------------------------------
+     */
+
+    @Override
+    public final void add(String x) {
+        assert x != null : "Violation of: x is not null";
+        assert !this.contains(x) : "Violation of: x is not in this";
+
+        Node n = this.root;
+        int pos = 0;
+        boolean done = false;
+        while (!done) {
+            n.count++;
+            if (pos == x.length()) {
+                n.terminal = true;
+                done = true;
+            } else {
+                int i = childIndex(n, x.charAt(pos));
+                if (i < 0) {
+                    /*
+                     * No child shares a first character: hang the rest of x
+                     * off n as a new leaf.
+                     */
+                    insertChild(n, -i - 1,
+                            new Node(x.substring(pos), true, 1));
+                    done = true;
+                } else {
+                    Node child = n.children[i];
+                    int common = commonPrefix(x, pos, child.label);
+                    if (common < child.label.length()) {
+                        /*
+                         * x leaves the edge part-way: split it at the point
+                         * where they differ.
+                         */
+                        Node split = new Node(child.label.substring(0, common),
+                                false, child.count);
+                        child.label = child.label.substring(common);
+                        split.children = new Node[] { child };
+                        n.children[i] = split;
+                    }
+                    pos += common;
+                    n = n.children[i];
+                }
+            }
+        }
+    }
+
+    @Override
+    public final String remove(String x) {
+        assert x != null : "Violation of: x is not null";
+        assert this.contains(x) : "Violation of: x is in this";
+
+        removeFrom(this.root, x, 0);
+        return x;
+    }
+
+    @Override
+    public final String removeAny() {
+        assert this.size() > 0 : "Violation of: this /= empty_set";
+
+        /*
+         * Remove the smallest element, as Set3a does: the first terminal node
+         * reached by always taking the first child.
+         */
+        StringBuilder smallest = new StringBuilder();
+        Node n = this.root;
+        while (!n.terminal) {
+            n = n.children[0];
+            smallest.append(n.label);
+        }
+        String x = smallest.toString();
+        removeFrom(this.root, x, 0);
+        return x;
+    }
+
+    @Override
+    public final boolean contains(String x) {
+        assert x != null : "Violation of: x is not null";
+
+        Node n = this.root;
+        int pos = 0;
+        while (n != null && pos < x.length()) {
+            int i = childIndex(n, x.charAt(pos));
+            if (i < 0) {
+                n = null;
+            } else {
+                Node child = n.children[i];
+                /*
+                 * The first character already matched; compare the rest of
+                 * the edge only.
+                 */
+                if (x.regionMatches(pos + 1, child.label, 1,
+                        child.label.length() - 1)) {
+                    pos += child.label.length();
+                    n = child;
+                } else {
+                    n = null;
+                }
+            }
+        }
+        return n != null && n.terminal;
+    }
+
+    @Override
+    public final int size() {
+
+        return this.root.count;
+    }
+
+    @Override
+    public final Iterator<String> iterator() {
+        List<String> all = new ArrayList<String>(this.root.count);
+        collect(this.root, new StringBuilder(), all);
+        return Collections.unmodifiableList(all).iterator();
+    }
+
+    /*
+     * Other methods ----------------------------------------------------------
+     */
+
+    /**
+     * Returns an iterator over the elements of {@code this} that start with
+     * {@code prefix}, in increasing order.
+     *
+     * @param prefix
+     *            the prefix
+     * @return the iterator
+     * @ensures <pre>
+     * [prefixIterator returns, in increasing order, exactly the elements x
+     *  of this such that prefix is a prefix of x]
+     * </pre>
+     */
+    public final Iterator<String> prefixIterator(String prefix) {
+        assert prefix != null : "Violation of: prefix is not null";
+
+        List<String> matches = new ArrayList<String>();
+        StringBuilder path = new StringBuilder();
+        Node n = this.locate(prefix, path);
+        if (n != null) {
+            collect(n, path, matches);
+        }
+        return Collections.unmodifiableList(matches).iterator();
+    }
+
+    /**
+     * Reports the number of elements of {@code this} that start with
+     * {@code prefix}, in time proportional to the length of {@code prefix}.
+     *
+     * @param prefix
+     *            the prefix
+     * @return the number of matching elements
+     * @ensures <pre>
+     * countWithPrefix = |{x: string of character
+     *  where (x is in this and prefix is a prefix of x)}|
+     * </pre>
+     */
+    public final int countWithPrefix(String prefix) {
+        assert prefix != null : "Violation of: prefix is not null";
+
+        Node n = this.locate(prefix, new StringBuilder());
+        int result = 0;
+        if (n != null) {
+            result = n.count;
+        }
+        return result;
+    }
+
+}
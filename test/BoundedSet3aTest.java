@@ -0,0 +1,187 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * JUnit test fixture for {@code BoundedSet3a}'s eviction policies and
+ * counters.
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public class BoundedSet3aTest {
+
+    /**
+     * Test that {@code SMALLEST} evicts the smallest element.
+     */
+
+    @Test
+    public void testEvict_Smallest() {
+        /*
+         * Set up the variables.
+         */
+        List<String> evicted = new ArrayList<String>();
+        BoundedSet3a<String> set = new BoundedSet3a<String>(3,
+                BoundedSet3a.Policy.SMALLEST, evicted::add);
+
+        /*
+         * Call method under test.
+         */
+        set.add("c");
+        set.add("a");
+        set.add("d");
+        set.add("b");
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(3, set.size());
+        assertEquals(List.of("a"), evicted);
+        assertEquals(1, set.evictions());
+    }
+
+    /**
+     * Test that {@code LARGEST} evicts the largest element, which may be the
+     * one just added.
+     */
+
+    @Test
+    public void testEvict_Largest() {
+        /*
+         * Set up the variables.
+         */
+        List<String> evicted = new ArrayList<String>();
+        BoundedSet3a<String> set = new BoundedSet3a<String>(2,
+                BoundedSet3a.Policy.LARGEST, evicted::add);
+
+        /*
+         * Call method under test.
+         */
+        set.add("b");
+        set.add("c");
+        set.add("a");
+        set.add("z");
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(List.of("c", "z"), evicted);
+        assertTrue(set.contains("a") && set.contains("b"));
+    }
+
+    /**
+     * Test that {@code LRU} evicts the least recently used element, counting
+     * a successful {@code contains} as a use, and that hits and misses are
+     * counted.
+     */
+
+    @Test
+    public void testEvict_Lru() {
+        /*
+         * Set up the variables.
+         */
+        List<String> evicted = new ArrayList<String>();
+        BoundedSet3a<String> set = new BoundedSet3a<String>(2,
+                BoundedSet3a.Policy.LRU, evicted::add);
+        set.add("x");
+        set.add("y");
+
+        /*
+         * Call method under test.
+         */
+        assertTrue(set.contains("x"));
+        set.add("z");
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(List.of("y"), evicted);
+        assertFalse(set.contains("y"));
+        assertTrue(set.contains("z"));
+        assertEquals(2, set.hits());
+        assertEquals(1, set.misses());
+    }
+
+    /**
+     * Test that {@code TTL} expires old elements and evicts the earliest
+     * added when full.
+     */
+
+    @Test
+    public void testEvict_Ttl() {
+        /*
+         * Set up the variables; the clock is advanced by hand.
+         */
+        final long[] now = { 0 };
+        List<Integer> evicted = new ArrayList<Integer>();
+        BoundedSet3a<Integer> set = new BoundedSet3a<Integer>(2,
+                BoundedSet3a.Policy.TTL, 10, () -> now[0], evicted::add);
+
+        /*
+         * Call method under test.
+         */
+        set.add(5);
+        now[0] = 4;
+        set.add(1);
+        now[0] = 6;
+        set.add(3);
+        now[0] = 14;
+
+        /*
+         * Assert the values of the variables match expectations: 5 was
+         * evicted for capacity, 1 expired at time 14.
+         */
+        assertEquals(1, set.size());
+        assertEquals(List.of(5, 1), evicted);
+        assertTrue(set.contains(3));
+        assertEquals(2, set.evictions());
+        set.resetCounters();
+        assertEquals(0, set.evictions());
+    }
+
+    /**
+     * Test eviction on keys that arrive in increasing order, as timestamps
+     * do; each policy must evict the expected keys in order.
+     */
+
+    @Test
+    public void testEvict_IncreasingKeys() {
+        /*
+         * Set up the variables.
+         */
+        final int capacity = 1000;
+        final int n = 20000;
+        List<Integer> smallest = new ArrayList<Integer>();
+        List<Integer> lru = new ArrayList<Integer>();
+        BoundedSet3a<Integer> bySmallest = new BoundedSet3a<Integer>(capacity,
+                BoundedSet3a.Policy.SMALLEST, smallest::add);
+        BoundedSet3a<Integer> byLru = new BoundedSet3a<Integer>(capacity,
+                BoundedSet3a.Policy.LRU, lru::add);
+
+        /*
+         * Call method under test.
+         */
+        for (int i = 0; i < n; i++) {
+            bySmallest.add(i);
+            byLru.add(i);
+        }
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(capacity, bySmallest.size());
+        assertEquals(capacity, byLru.size());
+        assertEquals(n - capacity, smallest.size());
+        assertEquals(smallest, lru);
+        for (int i = 0; i < n - capacity; i++) {
+            assertEquals(i, (int) smallest.get(i));
+        }
+        assertTrue(bySmallest.contains(n - capacity) && byLru.contains(n - 1));
+    }
+
+}
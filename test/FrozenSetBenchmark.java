@@ -0,0 +1,111 @@
+import java.util.Arrays;
+import java.util.Random;
+
+import components.set.Set;
+
+/**
+ * Simple timing comparison of lookups in a live {@code Set3a}, its frozen
+ * copy, {@code FrozenIntSet}, and {@code Arrays.binarySearch} on the same
+ * keys.
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public final class FrozenSetBenchmark {
+
+    /**
+     * Number of distinct keys.
+     */
+    private static final int KEYS = 1 << 18;
+
+    /**
+     * Number of lookups per measured run.
+     */
+    private static final int LOOKUPS = 1 << 21;
+
+    /**
+     * Number of times each run is repeated; the first runs warm up the JIT.
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * Seed for all random choices, so runs are repeatable.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * Private constructor so this utility class cannot be instantiated.
+     */
+    private FrozenSetBenchmark() {
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; ignored
+     */
+    public static void main(String[] args) {
+        Random rnd = new Random(SEED);
+        int[] keys = new int[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = rnd.nextInt();
+        }
+        int[] sorted = keys.clone();
+        Arrays.sort(sorted);
+
+        Set3a<Integer> live = new Set3a<Integer>();
+        for (int k : keys) {
+            if (!live.contains(k)) {
+                live.add(k);
+            }
+        }
+        Set<Integer> frozen = live.freeze();
+        FrozenIntSet frozenInts = new FrozenIntSet(keys);
+
+        /*
+         * Half of the lookups hit, half (almost surely) miss.
+         */
+        int[] probes = new int[LOOKUPS];
+        Integer[] boxed = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probes[i] = (i % 2 == 0) ? keys[rnd.nextInt(KEYS)] : rnd.nextInt();
+            boxed[i] = probes[i];
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            int hits = 0;
+            long start = System.nanoTime();
+            for (Integer x : boxed) {
+                hits += live.contains(x) ? 1 : 0;
+            }
+            long liveTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (Integer x : boxed) {
+                hits += frozen.contains(x) ? 1 : 0;
+            }
+            long frozenTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int x : probes) {
+                hits += frozenInts.contains(x) ? 1 : 0;
+            }
+            long intTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int x : probes) {
+                hits += (Arrays.binarySearch(sorted, x) >= 0) ? 1 : 0;
+            }
+            long searchTime = System.nanoTime() - start;
+
+            System.out.printf(
+                    "Set3a %6.1f  FrozenSet %6.1f  FrozenIntSet %6.1f  "
+                            + "binarySearch %6.1f ns/op  (%d hits)%n",
+                    (double) liveTime / LOOKUPS, (double) frozenTime / LOOKUPS,
+                    (double) intTime / LOOKUPS, (double) searchTime / LOOKUPS,
+                    hits);
+        }
+    }
+
+}
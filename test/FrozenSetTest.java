@@ -0,0 +1,134 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import components.set.Set;
+
+/**
+ * JUnit test fixture for {@code Set3a.freeze}, {@code FrozenSet},
+ * {@code FrozenIntSet}, and {@code FrozenLongSet}.
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public class FrozenSetTest {
+
+    /**
+     * Test freezing an empty set.
+     */
+
+    @Test
+    public void testFreeze_Boundary() {
+        /*
+         * Set up the variables and call the method under test.
+         */
+        Set3a<String> set = new Set3a<String>();
+        Set<String> frozen = set.freeze();
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(set, frozen);
+        assertEquals(0, frozen.size());
+        assertFalse(frozen.contains("a"));
+        assertFalse(frozen.iterator().hasNext());
+    }
+
+    /**
+     * Test freezing sets of every size up to a few complete levels, checking
+     * lookups of present and absent keys and iteration order.
+     */
+
+    @Test
+    public void testFreeze_Challenging() {
+        for (int n = 1; n <= 40; n++) {
+            /*
+             * Set up the variables; only the even keys 0 to 2n - 2 are
+             * present, inserted in shuffled order.
+             */
+            List<Integer> keys = new ArrayList<Integer>();
+            for (int i = 0; i < n; i++) {
+                keys.add(2 * i);
+            }
+            Collections.shuffle(keys, new Random(n));
+            Set3a<Integer> set = new Set3a<Integer>();
+            for (int k : keys) {
+                set.add(k);
+            }
+
+            /*
+             * Call method under test.
+             */
+            Set<Integer> frozen = set.freeze();
+
+            /*
+             * Assert the values of the variables match expectations
+             */
+            assertEquals(n, frozen.size());
+            assertEquals(set, frozen);
+            for (int i = -1; i <= 2 * n; i++) {
+                assertEquals(i >= 0 && i < 2 * n && i % 2 == 0,
+                        frozen.contains(i));
+            }
+            int expected = 0;
+            for (int x : frozen) {
+                assertEquals(expected, x);
+                expected += 2;
+            }
+            assertEquals(2 * n, expected);
+        }
+    }
+
+    /**
+     * Test the {@code int} variant, including duplicates and extreme keys.
+     */
+
+    @Test
+    public void testFrozenIntSet() {
+        /*
+         * Set up the variables and call the method under test.
+         */
+        FrozenIntSet set = new FrozenIntSet(new int[] { 5, Integer.MIN_VALUE,
+                -3, 5, Integer.MAX_VALUE, 0 });
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(5, set.size());
+        assertTrue(set.contains(Integer.MIN_VALUE) && set.contains(-3)
+                && set.contains(0) && set.contains(5)
+                && set.contains(Integer.MAX_VALUE));
+        assertFalse(set.contains(1) || set.contains(-4)
+                || set.contains(Integer.MAX_VALUE - 1));
+    }
+
+    /**
+     * Test the {@code long} variant, including duplicates and extreme keys.
+     */
+
+    @Test
+    public void testFrozenLongSet() {
+        /*
+         * Set up the variables and call the method under test.
+         */
+        FrozenLongSet set = new FrozenLongSet(new long[] { Long.MAX_VALUE,
+                7L, Long.MIN_VALUE, 7L, -1L });
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(4, set.size());
+        assertTrue(set.contains(Long.MIN_VALUE) && set.contains(-1L)
+                && set.contains(7L) && set.contains(Long.MAX_VALUE));
+        assertFalse(set.contains(0L) || set.contains(8L)
+                || set.contains(Long.MIN_VALUE + 1));
+    }
+
+}
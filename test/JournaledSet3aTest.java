@@ -0,0 +1,358 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+/**
+ * JUnit test fixture for {@code JournaledSet3a}'s recovery.
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public class JournaledSet3aTest {
+
+    /**
+     * Opens the durable set of strings stored in {@code dir}.
+     *
+     * @param dir
+     *            the directory
+     * @param checkpointInterval
+     *            number of mutations between automatic checkpoints
+     * @return the recovered set
+     * @throws IOException
+     *             if the files cannot be read
+     */
+    private static JournaledSet3a<String> open(Path dir,
+            int checkpointInterval) throws IOException {
+        return JournaledSet3a.open(dir, Function.identity(),
+                Function.identity(), 1, checkpointInterval);
+    }
+
+    /**
+     * Returns the single journal file in {@code dir}.
+     *
+     * @param dir
+     *            the directory
+     * @return the journal path
+     * @throws IOException
+     *             if the directory cannot be listed
+     */
+    private static Path onlyJournal(Path dir) throws IOException {
+        Path result = null;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir,
+                "journal-*.log")) {
+            for (Path p : files) {
+                assertTrue(result == null);
+                result = p;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cuts the last {@code n} bytes off {@code file}, as a crash in the middle
+     * of writing a record would.
+     *
+     * @param file
+     *            the file
+     * @param n
+     *            number of bytes to cut
+     * @throws IOException
+     *             if the file cannot be truncated
+     */
+    private static void chop(Path file, int n) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - n);
+        }
+    }
+
+    /**
+     * Deletes {@code dir} and the files in it.
+     *
+     * @param dir
+     *            the directory
+     * @throws IOException
+     *             if a file cannot be deleted
+     */
+    private static void deleteAll(Path dir) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path p : files) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * Test recovery from the journal alone.
+     */
+
+    @Test
+    public void testRecover_JournalOnly() throws IOException {
+        /*
+         * Set up the variables.
+         */
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            JournaledSet3a<String> set = open(dir, 1000);
+            set.add("b");
+            set.add("a");
+            set.add("c");
+            set.remove("b");
+            set.close();
+
+            /*
+             * Call method under test.
+             */
+            JournaledSet3a<String> recovered = open(dir, 1000);
+
+            /*
+             * Assert the values of the variables match expectations
+             */
+            assertEquals(2, recovered.size());
+            assertTrue(recovered.contains("a") && recovered.contains("c"));
+            assertFalse(recovered.contains("b"));
+            recovered.close();
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /**
+     * Test recovery from a checkpoint plus the journal written after it.
+     */
+
+    @Test
+    public void testRecover_CheckpointAndTail() throws IOException {
+        /*
+         * Set up the variables; the automatic checkpoint fires after the
+         * fourth mutation.
+         */
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            JournaledSet3a<String> set = open(dir, 4);
+            set.add("1");
+            set.add("2");
+            set.add("3");
+            set.add("4");
+            set.remove("1");
+            set.add("5");
+            set.close();
+
+            /*
+             * Call method under test.
+             */
+            JournaledSet3a<String> recovered = open(dir, 4);
+
+            /*
+             * Assert the values of the variables match expectations
+             */
+            assertEquals(4, recovered.size());
+            assertFalse(recovered.contains("1"));
+            assertTrue(recovered.contains("4") && recovered.contains("5"));
+            assertTrue(Files.exists(dir.resolve("checkpoint-1.dat")));
+            assertFalse(Files.exists(dir.resolve("journal-0.log")));
+            recovered.close();
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /**
+     * Test that a record cut off mid-write is dropped, and that the journal
+     * can be appended to again afterwards.
+     */
+
+    @Test
+    public void testRecover_TornRecord() throws IOException {
+        /*
+         * Set up the variables; the crash cuts the last record in half.
+         */
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            JournaledSet3a<String> set = open(dir, 1000);
+            set.add("kept");
+            set.add("also kept");
+            set.add("torn");
+            set.close();
+            chop(onlyJournal(dir), 3);
+
+            /*
+             * Call method under test.
+             */
+            JournaledSet3a<String> recovered = open(dir, 1000);
+            recovered.add("after");
+            recovered.close();
+            JournaledSet3a<String> again = open(dir, 1000);
+
+            /*
+             * Assert the values of the variables match expectations
+             */
+            assertEquals(3, again.size());
+            assertTrue(again.contains("kept") && again.contains("also kept")
+                    && again.contains("after"));
+            assertFalse(again.contains("torn"));
+            again.close();
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /**
+     * Test that a record whose header survived but whose payload did not is
+     * dropped.
+     */
+
+    @Test
+    public void testRecover_TornHeaderOnly() throws IOException {
+        /*
+         * Set up the variables; "xyz" is a 4-byte payload after the 8-byte
+         * header, so cutting 4 bytes leaves just the header.
+         */
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            JournaledSet3a<String> set = open(dir, 1000);
+            set.add("abc");
+            set.add("xyz");
+            set.close();
+            chop(onlyJournal(dir), 4);
+
+            /*
+             * Call method under test.
+             */
+            JournaledSet3a<String> recovered = open(dir, 1000);
+
+            /*
+             * Assert the values of the variables match expectations
+             */
+            assertEquals(1, recovered.size());
+            assertTrue(recovered.contains("abc"));
+            assertEquals(8 + 4, Files.size(onlyJournal(dir)));
+            recovered.close();
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /**
+     * Test that removeAny of an element with a right subtree is journaled and
+     * recovered without losing the rest of the set.
+     */
+
+    @Test
+    public void testRecover_RemoveAny() throws IOException {
+        /*
+         * Set up the variables; "b" is the smallest and has right child "c".
+         */
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            JournaledSet3a<String> set = open(dir, 1000);
+            set.add("d");
+            set.add("b");
+            set.add("c");
+            set.add("e");
+            String removed = set.removeAny();
+            set.close();
+
+            /*
+             * Call method under test.
+             */
+            JournaledSet3a<String> recovered = open(dir, 1000);
+
+            /*
+             * Assert the values of the variables match expectations
+             */
+            assertEquals("b", removed);
+            assertEquals(3, recovered.size());
+            assertTrue(recovered.contains("c") && recovered.contains("d")
+                    && recovered.contains("e"));
+            assertFalse(recovered.contains("b"));
+            recovered.close();
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /**
+     * Test that a checkpoint started by a mutation includes that mutation,
+     * for every kind of mutation.
+     */
+
+    @Test
+    public void testRecover_CheckpointEveryMutation() throws IOException {
+        /*
+         * Set up the variables; every mutation starts a checkpoint.
+         */
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            JournaledSet3a<String> set = open(dir, 1);
+            set.add("b");
+            set.add("a");
+            set.add("c");
+            set.remove("c");
+            set.removeAny();
+            set.close();
+
+            /*
+             * Call method under test.
+             */
+            JournaledSet3a<String> recovered = open(dir, 1);
+
+            /*
+             * Assert the values of the variables match expectations
+             */
+            assertEquals(1, recovered.size());
+            assertTrue(recovered.contains("b"));
+            recovered.close();
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+    /**
+     * Test that a mutation whose record cannot be written is not applied.
+     */
+
+    @Test
+    public void testAdd_JournalFails() throws IOException {
+        /*
+         * Set up the variables; once closed, the journal cannot be written.
+         */
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            JournaledSet3a<String> set = open(dir, 1000);
+            set.add("a");
+            set.close();
+
+            /*
+             * Call method under test.
+             */
+            boolean thrown = false;
+            try {
+                set.add("b");
+            } catch (IOException e) {
+                thrown = true;
+            }
+
+            /*
+             * Assert the values of the variables match expectations
+             */
+            assertTrue(thrown);
+            assertEquals(1, set.size());
+            assertFalse(set.contains("b"));
+        } finally {
+            deleteAll(dir);
+        }
+    }
+
+}
@@ -1,3 +1,9 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
 import components.set.Set;
 import components.set.Set1L;
 
@@ -16,4 +22,151 @@ public class Set3aTest extends SetTest {
         return new Set1L<String>();
     }
 
+    /**
+     * Creates and returns a {@code Set3a<String>} with the given entries.
+     *
+     * @param args
+     *            the entries for the set
+     * @return the constructed set
+     * @requires [every entry in args is unique]
+     * @ensures createFromArgs = [entries in args]
+     */
+    private static Set3a<String> createFromArgs(String... args) {
+        Set3a<String> set = new Set3a<String>();
+        for (String s : args) {
+            set.add(s);
+        }
+        return set;
+    }
+
+    /**
+     * Test that equal sets built in different orders, and through different
+     * kernel methods, have equal hash codes.
+     */
+
+    @Test
+    public void testHashCode_Routine() {
+        /*
+         * Set up the variables.
+         */
+        Set3a<String> set = createFromArgs("b", "a", "d", "c", "e");
+        Set3a<String> setExpected = createFromArgs("e", "c", "b");
+        Set<String> ref = new Set1L<String>();
+        ref.add("b");
+        ref.add("c");
+        ref.add("e");
+
+        /*
+         * Call method under test.
+         */
+        set.removeAny();
+        set.remove("d");
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(setExpected, set);
+        assertEquals(setExpected.hashCode(), set.hashCode());
+        assertTrue(set.equals(ref) && ref.equals(set));
+    }
+
+    /**
+     * Test that equals tells apart sets of the same size.
+     */
+
+    @Test
+    public void testEquals_SameSize() {
+        /*
+         * Set up the variables.
+         */
+        Set3a<String> set = createFromArgs("1", "2", "3");
+        Set3a<String> other = createFromArgs("1", "2", "4");
+
+        /*
+         * Call method under test and assert the values of the variables match
+         * expectations
+         */
+        assertFalse(set.equals(other));
+        assertFalse(other.equals(set));
+    }
+
+    /**
+     * Test that clear resets the hash and transferFrom carries it over.
+     */
+
+    @Test
+    public void testHashCode_ClearAndTransferFrom() {
+        /*
+         * Set up the variables.
+         */
+        Set3a<String> set = createFromArgs("x", "y");
+        Set3a<String> target = createFromArgs("z");
+        int expectedHash = set.hashCode();
+
+        /*
+         * Call method under test.
+         */
+        target.transferFrom(set);
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(expectedHash, target.hashCode());
+        assertEquals(createFromArgs("y", "x"), target);
+        assertEquals(new Set3a<String>(), set);
+        assertEquals(0, set.hashCode());
+        target.clear();
+        assertEquals(0, target.hashCode());
+    }
+
+    /**
+     * Test that removeAny keeps the right subtree of the smallest element.
+     */
+
+    @Test
+    public void testRemoveAny_KeepsRightSubtree() {
+        /*
+         * Set up the variables; "b" is the smallest and has right child "c".
+         */
+        Set3a<String> set = createFromArgs("d", "b", "c", "e");
+
+        /*
+         * Call method under test.
+         */
+        String removed = set.removeAny();
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals("b", removed);
+        assertEquals(createFromArgs("c", "d", "e"), set);
+        assertEquals(createFromArgs("c", "d", "e").hashCode(),
+                set.hashCode());
+    }
+
+    /**
+     * Test that smallest reports the element removeAny would remove, without
+     * changing the set.
+     */
+
+    @Test
+    public void testSmallest() {
+        /*
+         * Set up the variables.
+         */
+        Set3a<String> set = createFromArgs("c", "e", "b", "d", "a");
+
+        /*
+         * Call method under test.
+         */
+        String smallest = set.smallest();
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals("a", smallest);
+        assertEquals(createFromArgs("a", "b", "c", "d", "e"), set);
+        assertEquals(smallest, set.removeAny());
+    }
+
 }
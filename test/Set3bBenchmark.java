@@ -0,0 +1,183 @@
+import java.util.Random;
+
+import components.set.Set;
+
+/**
+ * Simple timing comparison of {@code contains} on {@code Set3a} and
+ * {@code Set3b} under uniform and Zipfian key popularity.
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public final class Set3bBenchmark {
+
+    /**
+     * Number of distinct keys in each set.
+     */
+    private static final int KEYS = 20000;
+
+    /**
+     * Number of lookups per measured run.
+     */
+    private static final int LOOKUPS = 200000;
+
+    /**
+     * Zipf exponent used for the skewed workload.
+     */
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    /**
+     * Seed for all random choices, so runs are repeatable.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * Number of times each workload is measured; the first rounds warm up the
+     * JIT, and the order of the two sets alternates between rounds.
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * Private constructor so this utility class cannot be instantiated.
+     */
+    private Set3bBenchmark() {
+    }
+
+    /**
+     * Returns {@code count} key indices drawn from a Zipf distribution over
+     * {@code 0..n-1}, with index 0 being the most popular.
+     *
+     * @param n
+     *            number of distinct indices
+     * @param count
+     *            number of indices to draw
+     * @param rnd
+     *            source of randomness
+     * @return the drawn indices
+     */
+    private static int[] zipf(int n, int count, Random rnd) {
+        double[] cumulative = new double[n];
+        double total = 0.0;
+        for (int i = 0; i < n; i++) {
+            total += 1.0 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cumulative[i] = total;
+        }
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            double u = rnd.nextDouble() * total;
+            int lo = 0;
+            int hi = n - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) / 2;
+                if (cumulative[mid] < u) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            result[i] = lo;
+        }
+        return result;
+    }
+
+    /**
+     * Returns {@code count} key indices drawn uniformly from {@code 0..n-1}.
+     *
+     * @param n
+     *            number of distinct indices
+     * @param count
+     *            number of indices to draw
+     * @param rnd
+     *            source of randomness
+     * @return the drawn indices
+     */
+    private static int[] uniform(int n, int count, Random rnd) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = rnd.nextInt(n);
+        }
+        return result;
+    }
+
+    /**
+     * Fills {@code s} with {@code keys} in a shuffled order and returns the
+     * elapsed nanoseconds for looking up {@code keys[i]} for every index in
+     * {@code lookups}.
+     *
+     * @param s
+     *            the set under test
+     * @param keys
+     *            the keys to insert
+     * @param lookups
+     *            indices into {@code keys} to look up
+     * @return elapsed time in nanoseconds
+     */
+    private static long time(Set<Integer> s, Integer[] keys, int[] lookups) {
+        Random rnd = new Random(SEED);
+        Integer[] order = keys.clone();
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            Integer tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        for (Integer k : order) {
+            s.add(k);
+        }
+        int hits = 0;
+        long start = System.nanoTime();
+        for (int i : lookups) {
+            if (s.contains(keys[i])) {
+                hits++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        assert hits == lookups.length : "Violation of: every lookup hits";
+        return elapsed;
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; ignored
+     */
+    public static void main(String[] args) {
+        Random rnd = new Random(SEED);
+        Integer[] keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = rnd.nextInt();
+        }
+        /*
+         * Drop accidental duplicates so every key is distinct.
+         */
+        java.util.Set<Integer> seen = new java.util.HashSet<>();
+        for (int i = 0; i < KEYS; i++) {
+            while (!seen.add(keys[i])) {
+                keys[i] = rnd.nextInt();
+            }
+        }
+
+        int[][] workloads = { uniform(KEYS, LOOKUPS, rnd),
+                zipf(KEYS, LOOKUPS, rnd) };
+        String[] names = { "uniform", "zipf" };
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int w = 0; w < workloads.length; w++) {
+                long bst;
+                long splay;
+                if (round % 2 == 0) {
+                    bst = time(new Set3a<Integer>(), keys, workloads[w]);
+                    splay = time(new Set3b<Integer>(), keys, workloads[w]);
+                } else {
+                    splay = time(new Set3b<Integer>(), keys, workloads[w]);
+                    bst = time(new Set3a<Integer>(), keys, workloads[w]);
+                }
+                System.out.printf("round %d  %-8s Set3a %8.1f ns/op   "
+                        + "Set3b %8.1f ns/op%n", round, names[w],
+                        (double) bst / LOOKUPS,
+                        (double) splay / LOOKUPS);
+            }
+        }
+    }
+
+}
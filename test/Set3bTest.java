@@ -0,0 +1,150 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import components.set.Set;
+import components.set.Set1L;
+
+/**
+ * Customized JUnit test fixture for {@code Set3b}.
+ */
+public class Set3bTest extends SetTest {
+
+    @Override
+    protected final Set<String> constructorTest() {
+        return new Set3b<String>();
+    }
+
+    @Override
+    protected final Set<String> constructorRef() {
+        return new Set1L<String>();
+    }
+
+    /**
+     * Test a long random sequence of add, remove, removeAny, and contains
+     * against {@code Set1L}, so that every splay case is reached on trees far
+     * deeper than the ones in {@code SetTest}.
+     */
+
+    @Test
+    public void testRandomOperations_MatchSet1L() {
+        /*
+         * Set up the variables.
+         */
+        final int keys = 300;
+        final int steps = 5000;
+        Random rnd = new Random(1);
+        Set3b<Integer> set = new Set3b<Integer>();
+        Set<Integer> ref = new Set1L<Integer>();
+
+        /*
+         * Call methods under test, checking each result against Set1L.
+         */
+        for (int i = 0; i < steps; i++) {
+            int k = rnd.nextInt(keys);
+            int op = rnd.nextInt(4);
+            if (op == 0 && set.size() > 0) {
+                int removed = set.removeAny();
+                assertTrue(ref.contains(removed));
+                ref.remove(removed);
+            } else if (op == 1 && ref.contains(k)) {
+                assertEquals(k, (int) set.remove(k));
+                ref.remove(k);
+            } else if (op == 2 && !ref.contains(k)) {
+                set.add(k);
+                ref.add(k);
+            } else {
+                assertEquals(ref.contains(k), set.contains(k));
+            }
+            assertEquals(ref.size(), set.size());
+        }
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(ref, set);
+        int previous = Integer.MIN_VALUE;
+        for (int x : set) {
+            assertTrue(previous < x);
+            previous = x;
+        }
+    }
+
+    /**
+     * Test that add and a successful contains leave the accessed element at
+     * the root, and that an unsuccessful contains leaves a neighbour of it
+     * there.
+     */
+
+    @Test
+    public void testSplay_AccessedAtRoot() {
+        /*
+         * Set up the variables; adding in increasing order builds a single
+         * left path, the deepest tree for the zig-zig case.
+         */
+        final int n = 300;
+        Set3b<Integer> set = new Set3b<Integer>();
+        List<Integer> order = new ArrayList<Integer>();
+        for (int i = 0; i < n; i++) {
+            set.add(2 * i);
+            assertEquals(2 * i, (int) set.root());
+            order.add(2 * i);
+        }
+        Collections.shuffle(order, new Random(2));
+
+        /*
+         * Call methods under test and assert the values of the variables
+         * match expectations
+         */
+        for (int x : order) {
+            assertTrue(set.contains(x));
+            assertEquals(x, (int) set.root());
+            assertFalse(set.contains(x + 1));
+            int root = set.root();
+            assertTrue(root == x || root == x + 2);
+        }
+        for (int x : order) {
+            assertEquals(x, (int) set.remove(x));
+            assertFalse(set.contains(x));
+        }
+        assertEquals(0, set.size());
+    }
+
+    /**
+     * Test that removeLargest removes the elements in decreasing order.
+     */
+
+    @Test
+    public void testRemoveLargest() {
+        /*
+         * Set up the variables.
+         */
+        final int n = 200;
+        List<Integer> keys = new ArrayList<Integer>();
+        for (int i = 0; i < n; i++) {
+            keys.add(i);
+        }
+        Collections.shuffle(keys, new Random(3));
+        Set3b<Integer> set = new Set3b<Integer>();
+        for (int k : keys) {
+            set.add(k);
+        }
+
+        /*
+         * Call method under test and assert the values of the variables
+         * match expectations
+         */
+        for (int i = n - 1; i >= 0; i--) {
+            assertEquals(i, (int) set.removeLargest());
+            assertEquals(i, set.size());
+        }
+    }
+
+}
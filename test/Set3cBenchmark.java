@@ -0,0 +1,134 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import components.set.Set;
+
+/**
+ * Simple write-throughput measurement of {@code Set3c} with 1 to 32 writer
+ * threads, next to a single {@code Set3a} guarded by one lock.
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public final class Set3cBenchmark {
+
+    /**
+     * Total number of adds per measured run, split across the threads.
+     */
+    private static final int ADDS = 400000;
+
+    /**
+     * Number of shards in the set under test.
+     */
+    private static final int SHARDS = 32;
+
+    /**
+     * Largest writer thread count measured.
+     */
+    private static final int MAX_THREADS = 32;
+
+    /**
+     * Number of unreported warm-up runs of each set before measuring.
+     */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /**
+     * Private constructor so this utility class cannot be instantiated.
+     */
+    private Set3cBenchmark() {
+    }
+
+    /**
+     * Returns one shuffled array of keys per writer thread; keys
+     * {@code i * threads + t} go to thread {@code t}, so they are distinct
+     * across threads and each thread's keys spread over the whole range.
+     *
+     * @param threads
+     *            number of writer threads
+     * @return the keys for each thread
+     */
+    private static int[][] keys(int threads) {
+        int perThread = ADDS / threads;
+        int[][] result = new int[threads][perThread];
+        for (int t = 0; t < threads; t++) {
+            Random rnd = new Random(t);
+            int[] keys = result[t];
+            for (int i = 0; i < perThread; i++) {
+                keys[i] = i * threads + t;
+            }
+            for (int i = perThread - 1; i > 0; i--) {
+                int j = rnd.nextInt(i + 1);
+                int tmp = keys[i];
+                keys[i] = keys[j];
+                keys[j] = tmp;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds {@code keys[t]} to {@code set} from writer thread {@code t} for
+     * every {@code t} and returns the elapsed nanoseconds.
+     *
+     * @param set
+     *            the set under test
+     * @param keys
+     *            the keys for each writer thread
+     * @param locked
+     *            whether every add must hold the monitor of {@code set}
+     * @return elapsed time in nanoseconds
+     * @throws InterruptedException
+     *             if interrupted while waiting for the writers
+     */
+    private static long run(final Set<Integer> set, int[][] keys,
+            final boolean locked) throws InterruptedException {
+        List<Thread> workers = new ArrayList<Thread>();
+        for (final int[] mine : keys) {
+            workers.add(new Thread(() -> {
+                for (int k : mine) {
+                    if (locked) {
+                        synchronized (set) {
+                            set.add(k);
+                        }
+                    } else {
+                        set.add(k);
+                    }
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        for (Thread w : workers) {
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; ignored
+     * @throws InterruptedException
+     *             if interrupted while waiting for the writers
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int[][] warmup = keys(MAX_THREADS);
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(new Set3c<Integer>(SHARDS), warmup, false);
+            run(new Set3a<Integer>(), warmup, true);
+        }
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            int[][] keys = keys(threads);
+            long sharded = run(new Set3c<Integer>(SHARDS), keys, false);
+            long single = run(new Set3a<Integer>(), keys, true);
+            System.out.printf("%2d threads  Set3c %10.0f adds/s   "
+                    + "synchronized Set3a %10.0f adds/s%n", threads,
+                    ADDS / (sharded / 1e9), ADDS / (single / 1e9));
+        }
+    }
+
+}
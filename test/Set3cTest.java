@@ -0,0 +1,150 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import components.set.Set;
+import components.set.Set1L;
+
+/**
+ * Customized JUnit test fixture for {@code Set3c}.
+ */
+public class Set3cTest extends SetTest {
+
+    @Override
+    protected final Set<String> constructorTest() {
+        return new Set3c<String>();
+    }
+
+    @Override
+    protected final Set<String> constructorRef() {
+        return new Set1L<String>();
+    }
+
+    /**
+     * Test that iteration stays in increasing order and removeAny still
+     * returns the smallest element after the shards have been rebalanced.
+     */
+
+    @Test
+    public void testRebalance_OrderAndRemoveAny() {
+        /*
+         * Set up the variables; the shuffled keys all land in the first shard
+         * until the first rebalance splits the key space, and the negative
+         * keys then pile into the first shard again and force a rebalance of
+         * just the shards around it.
+         */
+        final int n = 2000;
+        final int low = 400;
+        List<Integer> keys = new ArrayList<Integer>();
+        for (int i = 0; i < n; i++) {
+            keys.add(i);
+        }
+        Collections.shuffle(keys, new Random(1));
+        Set3c<Integer> set = new Set3c<Integer>(8);
+        for (int k : keys) {
+            set.add(k);
+        }
+        for (int i = -1; i >= -low; i--) {
+            set.add(i);
+        }
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(n + low, set.size());
+        int expected = -low;
+        for (int x : set) {
+            assertEquals(expected, x);
+            expected++;
+        }
+        assertEquals(n, expected);
+        assertEquals(-low, (int) set.removeAny());
+        assertEquals(-low + 1, (int) set.removeAny());
+        assertTrue(set.contains(n - 1) && !set.contains(-low));
+        assertEquals(n + low - 2, set.size());
+    }
+
+    /**
+     * Test that removeAny keeps the rest of a shard when the smallest element
+     * has a right subtree.
+     */
+
+    @Test
+    public void testRemoveAny_RightSubtree() {
+        /*
+         * Set up the variables; 2 is the smallest and has right child 3.
+         */
+        Set3c<Integer> set = new Set3c<Integer>(1);
+        set.add(4);
+        set.add(2);
+        set.add(3);
+        set.add(6);
+
+        /*
+         * Call method under test.
+         */
+        int removed = set.removeAny();
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(2, removed);
+        assertEquals(3, set.size());
+        int count = 0;
+        for (int x : set) {
+            assertTrue(x == 3 || x == 4 || x == 6);
+            count++;
+        }
+        assertEquals(3, count);
+    }
+
+    /**
+     * Test concurrent adds from several threads.
+     */
+
+    @Test
+    public void testAdd_Concurrent() throws InterruptedException {
+        /*
+         * Set up the variables.
+         */
+        final int threads = 8;
+        final int perThread = 2000;
+        final Set3c<Integer> set = new Set3c<Integer>(8);
+        List<Thread> workers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    set.add(i * threads + offset);
+                }
+            }));
+        }
+
+        /*
+         * Call method under test.
+         */
+        for (Thread w : workers) {
+            w.start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(threads * perThread, set.size());
+        int expected = 0;
+        for (int x : set) {
+            assertEquals(expected, x);
+            expected++;
+        }
+    }
+
+}
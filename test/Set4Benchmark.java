@@ -0,0 +1,134 @@
+import java.util.Random;
+
+import components.set.Set;
+
+/**
+ * Simple memory and lookup-time comparison of {@code Set4} and
+ * {@code Set3a<String>} on URL-like keys with long shared prefixes.
+ *
+ * @author Kamilia Kamal Arifin and Jordyn Liegl
+ *
+ */
+public final class Set4Benchmark {
+
+    /**
+     * Number of distinct keys.
+     */
+    private static final int KEYS = 100000;
+
+    /**
+     * Number of lookups per measured run.
+     */
+    private static final int LOOKUPS = 1000000;
+
+    /**
+     * Seed for all random choices, so runs are repeatable.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * Number of times each set is measured; the first rounds warm up the JIT,
+     * and the order of the two sets alternates between rounds.
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * Private constructor so this utility class cannot be instantiated.
+     */
+    private Set4Benchmark() {
+    }
+
+    /**
+     * Returns the heap in use after asking for a garbage collection.
+     *
+     * @return bytes in use
+     */
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /**
+     * Fills {@code s} with fresh copies of {@code keys}, then prints the heap
+     * it retains and the average time of looking up {@code probes}. The
+     * copies are made after the first heap sample, so a set that keeps its
+     * keys is charged for their strings and a set that does not is not.
+     *
+     * @param round
+     *            the round number to print
+     * @param name
+     *            the name to print
+     * @param s
+     *            the (empty) set under test
+     * @param keys
+     *            the keys to insert
+     * @param probes
+     *            the keys to look up
+     */
+    private static void measure(int round, String name, Set<String> s,
+            String[] keys, String[] probes) {
+        long before = usedHeap();
+        for (String k : keys) {
+            /*
+             * new String(k) would share k's backing array, so copy the chars.
+             */
+            s.add(new String(k.toCharArray()));
+        }
+        long retained = usedHeap() - before;
+
+        int hits = 0;
+        long start = System.nanoTime();
+        for (String p : probes) {
+            hits += s.contains(p) ? 1 : 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("round %d  %-6s %8d KiB  %8.1f ns/op  (%d hits)%n",
+                round, name, retained / 1024, (double) elapsed / probes.length,
+                hits);
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; ignored
+     */
+    public static void main(String[] args) {
+        Random rnd = new Random(SEED);
+        String[] tenants = { "tenant-0001", "tenant-0002", "tenant-0003",
+                "tenant-0004" };
+        String[] sections = { "users", "orders", "invoices", "products" };
+        java.util.Set<String> unique = new java.util.LinkedHashSet<>();
+        while (unique.size() < KEYS) {
+            unique.add("https://example.com/api/v2/"
+                    + tenants[rnd.nextInt(tenants.length)] + "/"
+                    + sections[rnd.nextInt(sections.length)] + "/"
+                    + rnd.nextInt(KEYS * 4));
+        }
+        String[] keys = unique.toArray(new String[0]);
+
+        /*
+         * Probes are fresh String objects, so no lookup can short-cut on
+         * reference equality; half of them miss.
+         */
+        String[] probes = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            String k = keys[rnd.nextInt(KEYS)];
+            probes[i] = new String((i % 2 == 0) ? k : k + "x");
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            if (round % 2 == 0) {
+                measure(round, "Set3a", new Set3a<String>(), keys, probes);
+                measure(round, "Set4", new Set4(), keys, probes);
+            } else {
+                measure(round, "Set4", new Set4(), keys, probes);
+                measure(round, "Set3a", new Set3a<String>(), keys, probes);
+            }
+        }
+    }
+
+}
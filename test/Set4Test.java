@@ -0,0 +1,125 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+
+import org.junit.Test;
+
+import components.set.Set;
+import components.set.Set1L;
+
+/**
+ * Customized JUnit test fixture for {@code Set4}.
+ */
+public class Set4Test extends SetTest {
+
+    @Override
+    protected final Set<String> constructorTest() {
+        return new Set4();
+    }
+
+    @Override
+    protected final Set<String> constructorRef() {
+        return new Set1L<String>();
+    }
+
+    /**
+     * Creates and returns a {@code Set4} with the given entries.
+     *
+     * @param args
+     *            the entries for the set
+     * @return the constructed set
+     * @requires [every entry in args is unique]
+     * @ensures createFromArgs = [entries in args]
+     */
+    private static Set4 createFromArgs(String... args) {
+        Set4 set = new Set4();
+        for (String s : args) {
+            set.add(s);
+        }
+        return set;
+    }
+
+    /**
+     * Test that iteration and removeAny follow {@code String.compareTo}
+     * order, including prefixes of other elements.
+     */
+
+    @Test
+    public void testIterator_Order() {
+        /*
+         * Set up the variables.
+         */
+        Set4 set = createFromArgs("b", "abc", "", "ab", "abd", "a");
+
+        /*
+         * Call method under test and assert the values of the variables match
+         * expectations
+         */
+        Iterator<String> it = set.iterator();
+        String[] expected = { "", "a", "ab", "abc", "abd", "b" };
+        for (String s : expected) {
+            assertEquals(s, it.next());
+        }
+        assertFalse(it.hasNext());
+        assertEquals("", set.removeAny());
+        assertEquals("a", set.removeAny());
+    }
+
+    /**
+     * Test the prefix queries, with a prefix ending inside an edge.
+     */
+
+    @Test
+    public void testPrefixQueries() {
+        /*
+         * Set up the variables.
+         */
+        Set4 set = createFromArgs("/api/users/1", "/api/users/2",
+                "/api/orders", "/static/app.js", "/api");
+
+        /*
+         * Call method under test and assert the values of the variables match
+         * expectations
+         */
+        assertEquals(5, set.countWithPrefix(""));
+        assertEquals(4, set.countWithPrefix("/api"));
+        assertEquals(2, set.countWithPrefix("/api/us"));
+        assertEquals(0, set.countWithPrefix("/apx"));
+        assertEquals(0, set.countWithPrefix("/api/users/10"));
+        Iterator<String> it = set.prefixIterator("/api/u");
+        assertEquals("/api/users/1", it.next());
+        assertEquals("/api/users/2", it.next());
+        assertFalse(it.hasNext());
+    }
+
+    /**
+     * Test that removing elements merges nodes without losing neighbours.
+     */
+
+    @Test
+    public void testRemove_Merge() {
+        /*
+         * Set up the variables.
+         */
+        Set4 set = createFromArgs("team", "tea", "ten", "te");
+
+        /*
+         * Call method under test.
+         */
+        set.remove("tea");
+        set.remove("te");
+
+        /*
+         * Assert the values of the variables match expectations
+         */
+        assertEquals(2, set.size());
+        assertTrue(set.contains("team") && set.contains("ten"));
+        assertFalse(set.contains("tea") || set.contains("te")
+                || set.contains("t"));
+        assertEquals(2, set.countWithPrefix("te"));
+        assertEquals(1, set.countWithPrefix("tea"));
+    }
+
+}